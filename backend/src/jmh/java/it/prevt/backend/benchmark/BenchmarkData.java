@@ -0,0 +1,40 @@
+package it.prevt.backend.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic inputs shaped like quote rows: amounts with four decimals, a share of them null.
+ */
+final class BenchmarkData {
+
+  private BenchmarkData() {
+  }
+
+  record Row(BigDecimal amount) {
+
+    BigDecimal getAmount() {
+      return amount;
+    }
+  }
+
+  static List<Row> rows(int size, double nullRatio, long seed) {
+    Random random = new Random(seed);
+    List<Row> rows = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      rows.add(new Row(random.nextDouble() < nullRatio ? null : amount(random)));
+    }
+    return rows;
+  }
+
+  static BigDecimal[] amounts(int size, double nullRatio, long seed) {
+    return rows(size, nullRatio, seed).stream().map(Row::getAmount).toArray(BigDecimal[]::new);
+  }
+
+  // between 0 and 100.000 euro
+  static BigDecimal amount(Random random) {
+    return BigDecimal.valueOf(random.nextLong(1_000_000_000L), 4);
+  }
+}
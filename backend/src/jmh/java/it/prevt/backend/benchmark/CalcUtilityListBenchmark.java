@@ -0,0 +1,88 @@
+package it.prevt.backend.benchmark;
+
+import it.prevt.backend.utility.CalcUtility;
+import it.prevt.backend.utility.Money;
+import it.prevt.backend.utility.NumberUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregations over lists: a quote has tens of rows, a repricing chunk 500, an export up to 100k.
+ * The Money variant is the fixed-point baseline for the same sum.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalcUtilityListBenchmark {
+
+  @Param({"16", "500", "100000"})
+  private int size;
+
+  @Param({"0", "0.1", "0.5"})
+  private double nullRatio;
+
+  private final CalcUtility calcUtility = new CalcUtility();
+
+  private List<BenchmarkData.Row> rows;
+
+  private BigDecimal[] amounts;
+
+  private List<BigDecimal> values;
+
+  @Setup
+  public void setUp() {
+    rows = BenchmarkData.rows(size, nullRatio, 42);
+    amounts = BenchmarkData.amounts(size, nullRatio, 42);
+    values = rows.stream().map(BenchmarkData.Row::getAmount).toList();
+  }
+
+  @Benchmark
+  public BigDecimal sumBigDecimalValuesList() {
+    return calcUtility.sumBigDecimalValues(rows, BenchmarkData.Row::getAmount);
+  }
+
+  @Benchmark
+  public BigDecimal sumBigDecimalValuesVarargs() {
+    return calcUtility.sumBigDecimalValues(amounts);
+  }
+
+  @Benchmark
+  public BigDecimal averageBigDecimalValue() {
+    return calcUtility.averageBigDecimalValue(rows, BenchmarkData.Row::getAmount);
+  }
+
+  @Benchmark
+  public BigDecimal subtractBigDecimalValues() {
+    return calcUtility.subtractBigDecimalValues(amounts);
+  }
+
+  @Benchmark
+  public BigDecimal numberUtilsSum() {
+    return NumberUtils.sum(values);
+  }
+
+  @Benchmark
+  public long moneySum() {
+    long sum = 0;
+    for (BigDecimal amount : amounts) {
+      sum = Math.addExact(sum, Money.of(amount).unscaled());
+    }
+    return sum;
+  }
+}
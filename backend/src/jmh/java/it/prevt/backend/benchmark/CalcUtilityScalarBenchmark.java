@@ -0,0 +1,109 @@
+package it.prevt.backend.benchmark;
+
+import it.prevt.backend.utility.CalcUtility;
+import it.prevt.backend.utility.Money;
+import it.prevt.backend.utility.NumberUtils;
+import it.prevt.backend.utility.Rate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single operations, cycling over a small pool of operands so the JIT cannot fold them; a null
+ * ratio exercises the mapToBigDecimal / nullToZero branches.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalcUtilityScalarBenchmark {
+
+  private static final int POOL = 1024;
+
+  @Param({"0", "0.1"})
+  private double nullRatio;
+
+  private final CalcUtility calcUtility = new CalcUtility();
+
+  private BigDecimal[] partials;
+
+  private BigDecimal[] totals;
+
+  private Money[] partialMoney;
+
+  private Money[] totalMoney;
+
+  private int index;
+
+  @Setup
+  public void setUp() {
+    partials = BenchmarkData.amounts(POOL, nullRatio, 7);
+    totals = BenchmarkData.amounts(POOL, 0, 11);
+    partialMoney = new Money[POOL];
+    totalMoney = new Money[POOL];
+    Random random = new Random(13);
+    for (int i = 0; i < POOL; i++) {
+      // a few zero totals, as on empty quotes
+      if (random.nextInt(50) == 0) {
+        totals[i] = BigDecimal.ZERO;
+      }
+      partialMoney[i] = Money.of(partials[i]);
+      totalMoney[i] = Money.of(totals[i]);
+    }
+  }
+
+  private int next() {
+    index = (index + 1) & (POOL - 1);
+    return index;
+  }
+
+  @Benchmark
+  public BigDecimal divide() {
+    int i = next();
+    return calcUtility.divide(partials[i], totals[i]);
+  }
+
+  @Benchmark
+  public BigDecimal numberUtilsDivide() {
+    int i = next();
+    return NumberUtils.divide(partials[i], totals[i]);
+  }
+
+  @Benchmark
+  public BigDecimal calculatePercentage() {
+    int i = next();
+    return calcUtility.calculatePercentage(partials[i], totals[i]);
+  }
+
+  @Benchmark
+  public BigDecimal subtractBigDecimalValues() {
+    int i = next();
+    return calcUtility.subtractBigDecimalValues(totals[i], partials[i]);
+  }
+
+  @Benchmark
+  public Rate moneyPercentageOf() {
+    int i = next();
+    return partialMoney[i].percentageOf(totalMoney[i]);
+  }
+
+  @Benchmark
+  public Money moneyMinus() {
+    int i = next();
+    return totalMoney[i].minus(partialMoney[i]);
+  }
+}
@@ -0,0 +1,73 @@
+package it.prevt.backend.benchmark;
+
+import it.prevt.backend.utility.CalcUtility;
+import it.prevt.backend.utility.CalendarUtils;
+import it.prevt.backend.utility.DateRange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Day fraction and interest over ranges from one day to ten years, starting just before a 29 February,
+ * and over a monthly payment schedule of the same length.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DaysFractionBenchmark {
+
+  @Param({"1", "30", "365", "3650"})
+  private int rangeDays;
+
+  private final CalcUtility calcUtility = new CalcUtility();
+
+  private final BigDecimal interestPercentage = new BigDecimal("3.75");
+
+  private LocalDate fromDate;
+
+  private LocalDate toDate;
+
+  private List<DateRange> schedule;
+
+  @Setup
+  public void setUp() {
+    fromDate = LocalDate.of(2024, 2, 20);
+    toDate = fromDate.plusDays(rangeDays);
+    schedule = new ArrayList<>();
+    for (LocalDate date = fromDate; date.isBefore(toDate); date = date.plusMonths(1)) {
+      schedule.add(new DateRange(date, date.plusMonths(1)));
+    }
+  }
+
+  @Benchmark
+  public BigDecimal daysFraction() {
+    return calcUtility.daysFraction(fromDate, toDate);
+  }
+
+  @Benchmark
+  public BigDecimal interestBasedOnDates() {
+    return calcUtility.interestBasedOnDates(interestPercentage, fromDate, toDate);
+  }
+
+  @Benchmark
+  public List<BigDecimal> scheduleInterests() {
+    return CalendarUtils.interests(interestPercentage, schedule);
+  }
+}
@@ -1,5 +1,6 @@
 package it.prevt.backend.auth;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -40,8 +41,14 @@ public class WebSecurityConfig {
             // preflight
             .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
 
+            // dispatch asincrono degli SseEmitter: la richiesta è già stata autorizzata
+            .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
             // login / public
-            .requestMatchers("/api/auth/**").permitAll().requestMatchers("/actuator/**").permitAll()
+            .requestMatchers("/api/auth/**").permitAll()
+
+            // actuator: pubblici solo health e info, metriche e prometheus richiedono il token
+            .requestMatchers("/actuator/health/**", "/actuator/info").permitAll()
 
             // tutto il resto autenticato
             .anyRequest().authenticated())
@@ -0,0 +1,17 @@
+package it.prevt.backend.bean;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter
+@Setter
+public class MarginScenarioBean {
+
+  // marginalita_* nell'ordine di MarginSimulationBean.items
+  private List<BigDecimal> margins;
+  private BigDecimal totalePreventivo;
+  private BigDecimal marginalitaMedia;
+}
@@ -0,0 +1,18 @@
+package it.prevt.backend.bean;
+
+import it.prevt.backend.pricing.MarginItem;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter
+@Setter
+public class MarginSimulationBean {
+
+  private List<MarginItem> items;
+  // non dipende dai margini: uguale per tutti gli scenari
+  private BigDecimal totaleCosti;
+  private List<MarginScenarioBean> scenarios;
+}
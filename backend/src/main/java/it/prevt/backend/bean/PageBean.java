@@ -0,0 +1,18 @@
+package it.prevt.backend.bean;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class PageBean<T> {
+
+  private List<T> items;
+  // null when there is no further page, or when paging by offset
+  private String nextCursor;
+  // null when the count was not requested
+  private Long totalCount;
+
+}
@@ -1,18 +1,41 @@
 package it.prevt.backend.bean;
 
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.math.BigDecimal;
+import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Getter
 @Setter
+@NoArgsConstructor
 public class PreventiviBean {
     private UUID id;
     private String titolo;
     private String status;
     private BigDecimal totalePreventivo;
+    private OffsetDateTime createdAt;
     private ProspectBean prospect;
 
+    // constructor expression for list projections: prospect columns come flattened from a LEFT JOIN
+    public PreventiviBean(UUID id, String titolo, String status, BigDecimal totalePreventivo,
+                          OffsetDateTime createdAt, UUID prospectId, String ragioneSociale,
+                          String partitaIva, String codiceFiscale, String indirizzo, String citta,
+                          String cap, String provincia, String telefono, String email, String tipo,
+                          OffsetDateTime prospectCreatedAt, OffsetDateTime prospectUpdatedAt,
+                          String tipoProspect) {
+        this.id = id;
+        this.titolo = titolo;
+        this.status = status;
+        this.totalePreventivo = totalePreventivo;
+        this.createdAt = createdAt;
+        if (prospectId != null) {
+            this.prospect = new ProspectBean(prospectId, ragioneSociale, partitaIva, codiceFiscale,
+                    indirizzo, citta, cap, provincia, telefono, email, tipo, prospectCreatedAt,
+                    prospectUpdatedAt, tipoProspect);
+        }
+    }
+
 }
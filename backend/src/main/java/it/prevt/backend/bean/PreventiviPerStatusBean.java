@@ -0,0 +1,21 @@
+package it.prevt.backend.bean;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+public class PreventiviPerStatusBean {
+
+  private String status;
+  private long preventiviCount;
+  private BigDecimal totaleValore;
+
+  public PreventiviPerStatusBean(String status, Long preventiviCount, BigDecimal totaleValore) {
+    this.status = status;
+    this.preventiviCount = preventiviCount != null ? preventiviCount : 0L;
+    this.totaleValore = totaleValore;
+  }
+}
@@ -0,0 +1,27 @@
+package it.prevt.backend.bean;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+public class PreventiviTrendBean {
+
+  private LocalDate bucket;
+  private String status;
+  private String tipoProspect;
+  private long preventiviCount;
+  private BigDecimal valoreTotale;
+
+  public PreventiviTrendBean(LocalDate bucket, String status, String tipoProspect,
+      Long preventiviCount, BigDecimal valoreTotale) {
+    this.bucket = bucket;
+    this.status = status;
+    this.tipoProspect = tipoProspect;
+    this.preventiviCount = preventiviCount != null ? preventiviCount : 0L;
+    this.valoreTotale = valoreTotale;
+  }
+}
@@ -0,0 +1,71 @@
+package it.prevt.backend.bean;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+public class PricingBean {
+
+  // Elementi fisici
+  private BigDecimal superficieStampa;
+  private BigDecimal sviluppoLineare;
+  private BigDecimal numeroPezzi;
+  private BigDecimal superficieStampaStorage;
+  private BigDecimal sviluppoMetriLineariStorage;
+  private BigDecimal numeroPezziStorage;
+  private BigDecimal superficieStampaDesk;
+  private BigDecimal numeroPezziDesk;
+  private BigDecimal superficieStampaEspositori;
+  private BigDecimal numeroPezziEspositori;
+
+  // Costi stand
+  private BigDecimal costoStruttura;
+  private BigDecimal costoGrafica;
+  private BigDecimal costoPremontaggio;
+  private BigDecimal costoRetroilluminazione;
+  private BigDecimal extraStandComplesso;
+  private BigDecimal costoAccessori;
+  private BigDecimal costoTotale;
+
+  // Costi storage
+  private BigDecimal costoStrutturaStorage;
+  private BigDecimal costoGraficaStorage;
+  private BigDecimal costoPremontaggioStorage;
+  private BigDecimal costoTotaleStorage;
+
+  // Costi desk
+  private BigDecimal costoStrutturaDesk;
+  private BigDecimal costoGraficaDesk;
+  private BigDecimal costoPremontaggioDesk;
+  private BigDecimal costoAccessoriDesk;
+  private BigDecimal costoTotaleDesk;
+
+  // Costi espositori
+  private BigDecimal costoStrutturaEspositori;
+  private BigDecimal costoGraficaEspositori;
+  private BigDecimal costoPremontaggioEspositori;
+  private BigDecimal costoAccessoriEspositori;
+  private BigDecimal costoTotaleEspositori;
+
+  // Prezzi per categoria (costi con marginalità)
+  private BigDecimal preventivoStruttura;
+  private BigDecimal preventivoGrafiche;
+  private BigDecimal preventivoRetroilluminazione;
+  private BigDecimal preventivoAccessori;
+  private BigDecimal preventivoPremontaggi;
+  private BigDecimal costoServizi;
+  private BigDecimal preventivoServizi;
+  private BigDecimal costoAltriBeniServizi;
+  private BigDecimal preventivoAltriBeniServizi;
+
+  // Totali
+  private BigDecimal totalePreventivo;
+  private BigDecimal totaleCosti;
+  private BigDecimal marginalitaMedia;
+
+  // versione del listino usata per il calcolo
+  private Long catalogVersion;
+}
@@ -0,0 +1,31 @@
+package it.prevt.backend.bean;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+
+@Getter
+@Setter
+public class RepricingJobBean {
+
+  public static final String STATUS_IDLE = "idle";
+  public static final String STATUS_RUNNING = "running";
+  public static final String STATUS_COMPLETED = "completed";
+  public static final String STATUS_FAILED = "failed";
+
+  private String status;
+  // preventivi in corso da ricalcolare
+  private long totalCount;
+  private long processedCount;
+  // preventivi il cui prezzo salvato era cambiato
+  private long updatedCount;
+  private OffsetDateTime startedAt;
+  private OffsetDateTime finishedAt;
+  private long elapsedMillis;
+  // preventivi al secondo
+  private double throughput;
+  // un ricalcolo è già richiesto e partirà a fine job
+  private boolean pending;
+  private String error;
+}
@@ -0,0 +1,85 @@
+package it.prevt.backend.cache;
+
+import it.prevt.backend.event.DashboardChangedEvent;
+import it.prevt.backend.event.DashboardNotificationListener;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serialized dashboard responses per user, valid for a single data version. The version is bumped by
+ * every dashboard_changed notification, i.e. after every committed write to quotes or prospects,
+ * also the ones made by the frontend through Supabase. While the notification connection is down
+ * writes could go unnoticed, so nothing is served from the cache until it is back and the ETag falls
+ * back to a digest of the body.
+ */
+@Component
+@RequiredArgsConstructor
+public class DashboardCache {
+
+  private final DashboardNotificationListener notificationListener;
+
+  // distinguishes versions across restarts, so an old ETag never matches new content
+  private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+  private final AtomicLong version = new AtomicLong();
+
+  private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+  @EventListener
+  public void onDashboardChanged(DashboardChangedEvent event) {
+    version.incrementAndGet();
+    entries.clear();
+  }
+
+  public long currentVersion() {
+    return version.get();
+  }
+
+  public Entry get(UUID userId) {
+    if (!notificationListener.isListening()) {
+      return null;
+    }
+    Entry entry = entries.get(userId);
+    if (entry == null || entry.getVersion() != version.get()) {
+      return null;
+    }
+    return entry;
+  }
+
+  /**
+   * Stores a response computed from data read at {@code dataVersion}. The version must be taken
+   * before loading, so a write notified while the response is built makes the entry stale.
+   */
+  public Entry put(UUID userId, long dataVersion, byte[] body) {
+    if (!notificationListener.isListening()) {
+      return new Entry(dataVersion, "\"" + DigestUtils.md5DigestAsHex(body) + "\"", body);
+    }
+    Entry entry = new Entry(dataVersion, "\"" + epoch + "-" + dataVersion + "\"", body);
+    if (dataVersion == version.get()) {
+      entries.put(userId, entry);
+    }
+    return entry;
+  }
+
+  @Getter
+  public static class Entry {
+
+    private final long version;
+    private final String etag;
+    private final byte[] body;
+
+    private Entry(long version, String etag, byte[] body) {
+      this.version = version;
+      this.etag = etag;
+      this.body = body;
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package it.prevt.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.OffsetDateTime;
+
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+@Entity
+@Immutable
+@Table(name = "dashboard_snapshot")
+public class DashboardSnapshotEntity {
+
+    public static final Integer SNAPSHOT_ID = 1;
+
+    @Id
+    @Column(nullable = false, updatable = false)
+    private Integer id;
+
+    @Column(name = "prospects_count", nullable = false)
+    private Long prospectsCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+}
@@ -0,0 +1,29 @@
+package it.prevt.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+@Entity
+@Immutable
+@Table(name = "dashboard_snapshot_status")
+public class DashboardSnapshotStatusEntity {
+
+    @Id
+    @Column(nullable = false, updatable = false)
+    private String status;
+
+    @Column(name = "preventivi_count", nullable = false)
+    private Long preventiviCount;
+
+    @Column(name = "valori_count", nullable = false)
+    private Long valoriCount;
+
+    @Column(name = "valore_totale", nullable = false)
+    private BigDecimal valoreTotale;
+}
@@ -1,5 +1,6 @@
 package it.prevt.backend.entity;
 
+import it.prevt.backend.event.PriceCatalogEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -15,6 +16,7 @@ import java.util.UUID;
 @Getter @Setter
 @NoArgsConstructor @AllArgsConstructor @Builder
 @Entity
+@EntityListeners(PriceCatalogEntityListener.class)
 @Table(name = "listino_accessori_espositori")
 public class ListinoAccessoriEspositoriEntity {
 
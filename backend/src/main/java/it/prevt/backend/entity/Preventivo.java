@@ -303,6 +303,9 @@ public static final List<String> STATO_IN_CORSO = List.of("bozza", "inviato", "i
     @Column(name = "totale_costi")
     private BigDecimal totaleCosti = BigDecimal.ZERO;
 
+    @Column(name = "catalog_version")
+    private Long catalogVersion;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private OffsetDateTime createdAt;
@@ -0,0 +1,54 @@
+package it.prevt.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor @Builder
+@Entity
+@Immutable
+@IdClass(PreventivoTrendRollupEntity.Key.class)
+@Table(name = "preventivo_trend_rollup")
+public class PreventivoTrendRollupEntity {
+
+    public static final String GRANULARITY_WEEK = "week";
+    public static final String GRANULARITY_MONTH = "month";
+
+    @Id
+    @Column(nullable = false, updatable = false)
+    private String granularity;
+
+    @Id
+    @Column(nullable = false, updatable = false)
+    private LocalDate bucket;
+
+    @Id
+    @Column(nullable = false, updatable = false)
+    private String status;
+
+    @Id
+    @Column(name = "tipo_prospect", nullable = false, updatable = false)
+    private String tipoProspect;
+
+    @Column(name = "preventivi_count", nullable = false)
+    private Long preventiviCount;
+
+    @Column(name = "valore_totale", nullable = false)
+    private BigDecimal valoreTotale;
+
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String granularity;
+        private LocalDate bucket;
+        private String status;
+        private String tipoProspect;
+    }
+}
@@ -0,0 +1,17 @@
+package it.prevt.backend.event;
+
+import lombok.Getter;
+
+/**
+ * Published by {@link DashboardNotificationListener} when committed writes to the data shown on the
+ * dashboard (quotes, prospects) are notified by the database, whoever made them.
+ */
+@Getter
+public class DashboardChangedEvent {
+
+  private final String source;
+
+  public DashboardChangedEvent(String source) {
+    this.source = source;
+  }
+}
@@ -0,0 +1,136 @@
+package it.prevt.backend.event;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Turns the dashboard_changed notifications sent by the database triggers into
+ * {@link DashboardChangedEvent}s, so writes made directly on the database (the frontend goes through
+ * Supabase) reach the dashboard stream like the backend's own. LISTEN needs a session of its own: a
+ * dedicated connection outside the pool, reopened with a delay when it drops. After every
+ * (re)connection one event is published, since notifications sent meanwhile are lost.
+ */
+@Slf4j
+@Component
+public class DashboardNotificationListener {
+
+  public static final String CHANNEL = "dashboard_changed";
+
+  private static final int POLL_MILLIS = (int) Duration.ofSeconds(10).toMillis();
+  private static final long RECONNECT_MILLIS = Duration.ofSeconds(5).toMillis();
+
+  private final ApplicationEventPublisher publisher;
+  private final String url;
+  private final String username;
+  private final String password;
+  private final boolean enabled;
+
+  private volatile boolean running;
+  // LISTEN is active: every committed write is being notified
+  private volatile boolean listening;
+  private volatile Connection connection;
+  private Thread thread;
+
+  public DashboardNotificationListener(ApplicationEventPublisher publisher,
+      @Value("${spring.datasource.url:}") String url,
+      @Value("${spring.datasource.username:}") String username,
+      @Value("${spring.datasource.password:}") String password,
+      @Value("${app.dashboard.notifications.enabled:true}") boolean enabled) {
+    this.publisher = publisher;
+    this.url = url;
+    this.username = username;
+    this.password = password;
+    this.enabled = enabled;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void start() {
+    if (!enabled || url.isEmpty() || running) {
+      return;
+    }
+    running = true;
+    thread = new Thread(this::listen, "dashboard-listen");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  @PreDestroy
+  public synchronized void stop() {
+    running = false;
+    if (thread != null) {
+      thread.interrupt();
+    }
+    close();
+  }
+
+  private void listen() {
+    while (running) {
+      try {
+        connection = DriverManager.getConnection(url, username, password);
+        try (Statement statement = connection.createStatement()) {
+          statement.execute("LISTEN " + CHANNEL);
+        }
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        listening = true;
+        publisher.publishEvent(new DashboardChangedEvent("listen"));
+        while (running) {
+          PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+          if (notifications != null && notifications.length > 0) {
+            publisher.publishEvent(new DashboardChangedEvent(notifications[0].getParameter()));
+          }
+        }
+      } catch (SQLException e) {
+        if (running) {
+          log.warn("Dashboard notifications: connection lost, retrying in {} ms: {}", RECONNECT_MILLIS,
+              e.getMessage());
+        }
+      } catch (RuntimeException e) {
+        // a failing listener must not end the thread: live updates would stop silently
+        if (running) {
+          log.error("Dashboard notifications: listener failed, reconnecting in {} ms", RECONNECT_MILLIS,
+              e);
+        }
+      } finally {
+        listening = false;
+        close();
+      }
+      if (running) {
+        try {
+          Thread.sleep(RECONNECT_MILLIS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  public boolean isListening() {
+    return listening;
+  }
+
+  private void close() {
+    Connection current = connection;
+    connection = null;
+    if (current != null) {
+      try {
+        current.close();
+      } catch (SQLException e) {
+        // already broken
+      }
+    }
+  }
+}
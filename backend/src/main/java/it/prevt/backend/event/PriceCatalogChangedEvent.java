@@ -0,0 +1,17 @@
+package it.prevt.backend.event;
+
+import lombok.Getter;
+
+/**
+ * Published whenever a price-list row (listini, costi struttura, parametri) is written. Stored
+ * quote prices depend on these rows, so listeners must use {@code @TransactionalEventListener}.
+ */
+@Getter
+public class PriceCatalogChangedEvent {
+
+  private final String source;
+
+  public PriceCatalogChangedEvent(String source) {
+    this.source = source;
+  }
+}
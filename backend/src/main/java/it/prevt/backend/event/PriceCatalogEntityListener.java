@@ -0,0 +1,25 @@
+package it.prevt.backend.event;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener registered on the price-list entities read by the pricing engine.
+ */
+@Component
+@RequiredArgsConstructor
+public class PriceCatalogEntityListener {
+
+  private final ApplicationEventPublisher publisher;
+
+  @PostPersist
+  @PostUpdate
+  @PostRemove
+  public void onChange(Object entity) {
+    publisher.publishEvent(new PriceCatalogChangedEvent(entity.getClass().getSimpleName()));
+  }
+}
@@ -0,0 +1,17 @@
+package it.prevt.backend.event;
+
+import lombok.Getter;
+
+/**
+ * Published by {@link it.prevt.backend.pricing.PriceCatalog} after a newer snapshot has been swapped
+ * in; the data is already committed.
+ */
+@Getter
+public class PriceCatalogUpdatedEvent {
+
+  private final long version;
+
+  public PriceCatalogUpdatedEvent(long version) {
+    this.version = version;
+  }
+}
@@ -1,8 +1,14 @@
 package it.prevt.backend.manager;
 
 import it.prevt.backend.bean.DashboardBean;
+import it.prevt.backend.bean.PreventiviTrendBean;
+
+import java.time.LocalDate;
+import java.util.List;
 
 public interface DashboardManager {
 
     DashboardBean loadDashboard();
+
+    List<PreventiviTrendBean> getTrend(LocalDate from, LocalDate to, String granularity);
 }
@@ -0,0 +1,8 @@
+package it.prevt.backend.manager;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface DashboardStreamManager {
+
+  SseEmitter subscribe();
+}
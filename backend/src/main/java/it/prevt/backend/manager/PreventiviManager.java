@@ -0,0 +1,10 @@
+package it.prevt.backend.manager;
+
+import it.prevt.backend.bean.PageBean;
+import it.prevt.backend.bean.PreventiviBean;
+import it.prevt.backend.request.bean.PreventiviRequestBean;
+
+public interface PreventiviManager {
+
+  PageBean<PreventiviBean> getPreventiviPage(PreventiviRequestBean request);
+}
@@ -0,0 +1,13 @@
+package it.prevt.backend.manager;
+
+import it.prevt.backend.bean.MarginSimulationBean;
+import it.prevt.backend.bean.PricingBean;
+import it.prevt.backend.request.bean.MarginSimulationRequestBean;
+import it.prevt.backend.request.bean.PricingRequestBean;
+
+public interface PricingManager {
+
+  PricingBean price(PricingRequestBean request);
+
+  MarginSimulationBean simulateMargins(MarginSimulationRequestBean request);
+}
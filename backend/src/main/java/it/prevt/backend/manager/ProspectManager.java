@@ -1,7 +1,10 @@
 package it.prevt.backend.manager;
 
+import it.prevt.backend.bean.PageBean;
 import it.prevt.backend.bean.ProspectBean;
 import it.prevt.backend.bean.UserBean;
+import it.prevt.backend.request.bean.ProspectRequestBean;
+import it.prevt.backend.request.bean.ProspectSearchRequestBean;
 import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -13,6 +16,10 @@ public interface ProspectManager {
 
   List<ProspectBean> getProspectList();
 
+  PageBean<ProspectBean> getProspectPage(ProspectRequestBean request);
+
+  PageBean<ProspectBean> searchProspects(ProspectSearchRequestBean request);
+
   ProspectBean saveProspect(ProspectBean bean, Authentication authentication);
 
 }
@@ -0,0 +1,10 @@
+package it.prevt.backend.manager;
+
+import it.prevt.backend.bean.RepricingJobBean;
+
+public interface RepricingManager {
+
+  RepricingJobBean startRepricing();
+
+  RepricingJobBean getRepricingStatus();
+}
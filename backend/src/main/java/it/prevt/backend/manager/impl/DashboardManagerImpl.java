@@ -1,21 +1,25 @@
 package it.prevt.backend.manager.impl;
 
 import it.prevt.backend.bean.DashboardBean;
+import it.prevt.backend.bean.PreventiviPerStatusBean;
+import it.prevt.backend.bean.PreventiviTrendBean;
 import it.prevt.backend.bean.ValorePerStatusBean;
+import it.prevt.backend.entity.DashboardSnapshotEntity;
 import it.prevt.backend.entity.Preventivo;
+import it.prevt.backend.entity.PreventivoTrendRollupEntity;
 import it.prevt.backend.manager.DashboardManager;
-import it.prevt.backend.mapper.PreventiviMapper;
 import it.prevt.backend.repository.DashboardRepository;
-import it.prevt.backend.request.bean.PreventiviRequestBean;
 import it.prevt.backend.utility.CalcUtility;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.math.BigDecimal;
-import java.util.Comparator;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,33 +28,58 @@ public class DashboardManagerImpl implements DashboardManager {
 
   private final DashboardRepository repository;
   private final CalcUtility calcUtility;
-  private final PreventiviMapper preventiviMapper;
+
+  private static final int ULTIMI_PREVENTIVI_LIMIT = 5;
+
+  private static final List<String> TREND_GRANULARITIES =
+      List.of(PreventivoTrendRollupEntity.GRANULARITY_WEEK,
+          PreventivoTrendRollupEntity.GRANULARITY_MONTH);
 
   @Override
   public DashboardBean loadDashboard() {
 
     DashboardBean dashboardBean = new DashboardBean();
-    dashboardBean.setProspectsCount(repository.getProspectList().size());
+    DashboardSnapshotEntity snapshot = repository.getDashboardSnapshot();
+    dashboardBean.setProspectsCount(snapshot != null ? snapshot.getProspectsCount() : 0L);
 
-    PreventiviRequestBean request = new PreventiviRequestBean();
-    List<Preventivo> totalePreventivi = repository.getPreventiviList(request);
-    dashboardBean.setPreventiviCount(totalePreventivi.size());
-    request.setStatiPreventivi(Preventivo.STATO_IN_CORSO);
-    dashboardBean.setPreventiviInCorso(repository.getPreventiviList(request).size());
+    List<PreventiviPerStatusBean> preventiviPerStatus = repository.getPreventiviPerStatus();
+    dashboardBean.setPreventiviCount(
+        preventiviPerStatus.stream().mapToLong(PreventiviPerStatusBean::getPreventiviCount).sum());
+    dashboardBean.setPreventiviInCorso(
+        preventiviPerStatus.stream().filter(s -> Preventivo.STATO_IN_CORSO.contains(s.getStatus()))
+            .mapToLong(PreventiviPerStatusBean::getPreventiviCount).sum());
     dashboardBean.setValoreTotale(
-        calcUtility.sumBigDecimalValues(totalePreventivi, Preventivo::getTotalePreventivo));
-    dashboardBean.setUltimiPreventivi(
-        totalePreventivi.stream().sorted(Comparator.comparing(Preventivo::getCreatedAt).reversed())
-            .limit(5).map(preventiviMapper::mapEntityToBean).toList());
+        calcUtility.sumBigDecimalValues(preventiviPerStatus, PreventiviPerStatusBean::getTotaleValore));
+    dashboardBean.setUltimiPreventivi(repository.getUltimiPreventivi(ULTIMI_PREVENTIVI_LIMIT));
     dashboardBean.setValorePerStatus(
-        totalePreventivi.stream().filter(p -> p.getTotalePreventivo() != null).collect(
-                Collectors.groupingBy(Preventivo::getStatus,
-                    Collectors.mapping(Preventivo::getTotalePreventivo,
-                        Collectors.reducing(BigDecimal.ZERO, BigDecimal::add)))).entrySet().stream()
-            .map(e -> new ValorePerStatusBean(e.getKey(), e.getValue())).toList());
+        preventiviPerStatus.stream().filter(s -> s.getTotaleValore() != null)
+            .map(s -> new ValorePerStatusBean(s.getStatus(), s.getTotaleValore())).toList());
 
     return dashboardBean;
   }
 
-}
+  @Override
+  public List<PreventiviTrendBean> getTrend(LocalDate from, LocalDate to, String granularity) {
+    String safeGranularity =
+        granularity != null ? granularity : PreventivoTrendRollupEntity.GRANULARITY_MONTH;
+    if (!TREND_GRANULARITIES.contains(safeGranularity)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "error.trend.granularity");
+    }
+    LocalDate safeTo = to != null ? to : LocalDate.now();
+    LocalDate safeFrom = from != null ? from : safeTo.minusYears(1);
+    if (safeFrom.isAfter(safeTo)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "error.trend.range");
+    }
+    return repository.getPreventiviTrend(safeGranularity, bucketStart(safeFrom, safeGranularity),
+        safeTo);
+  }
+
+  // same bucket boundaries as date_trunc('week' | 'month', ...) in the rollup triggers
+  private LocalDate bucketStart(LocalDate date, String granularity) {
+    if (PreventivoTrendRollupEntity.GRANULARITY_WEEK.equals(granularity)) {
+      return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+    return date.withDayOfMonth(1);
+  }
 
+}
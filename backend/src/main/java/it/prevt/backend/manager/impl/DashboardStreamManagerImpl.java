@@ -0,0 +1,214 @@
+package it.prevt.backend.manager.impl;
+
+import it.prevt.backend.bean.DashboardBean;
+import it.prevt.backend.event.DashboardChangedEvent;
+import it.prevt.backend.manager.DashboardManager;
+import it.prevt.backend.manager.DashboardStreamManager;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes dashboard changes to every open SSE connection. Emitters run on servlet async support, so
+ * an idle subscriber holds no request thread; a single scheduler thread recomputes the dashboard
+ * once per burst of changes and hands the same pre-serialized delta to every subscriber. Each
+ * subscriber has its own send queue, drained on a small fixed sender pool with at most one task per
+ * subscriber, so the thread count does not grow with the audience; one that falls too far behind
+ * is closed and gets a fresh snapshot when it reconnects.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardStreamManagerImpl implements DashboardStreamManager {
+
+  private static final long EMITTER_TIMEOUT = Duration.ofMinutes(30).toMillis();
+  private static final long COALESCE_MILLIS = 250;
+  private static final long HEARTBEAT_SECONDS = 30;
+  private static final int MAX_PENDING_EVENTS = 16;
+  private static final int SENDER_THREADS = 4;
+
+  private static final String EVENT_SNAPSHOT = "snapshot";
+  private static final String EVENT_DELTA = "delta";
+
+  private final DashboardManager dashboardManager;
+  private final JsonMapper jsonMapper;
+
+  private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+  private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+    Thread thread = new Thread(r, "dashboard-stream");
+    thread.setDaemon(true);
+    return thread;
+  });
+  // bounded: the queue holds at most one drain per subscriber, ordering is kept by the subscriber
+  private final ExecutorService sender = Executors.newFixedThreadPool(SENDER_THREADS, r -> {
+    Thread thread = new Thread(r, "dashboard-stream-send");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  // last state pushed to subscribers, only touched from the scheduler thread
+  private JsonNode lastPushed;
+
+  @PostConstruct
+  void init() {
+    scheduler.scheduleAtFixedRate(this::heartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS,
+        TimeUnit.SECONDS);
+  }
+
+  @Override
+  public SseEmitter subscribe() {
+    SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT);
+    Subscriber subscriber = new Subscriber(emitter);
+    emitter.onCompletion(subscriber::close);
+    emitter.onTimeout(subscriber::close);
+    emitter.onError(e -> subscriber.close());
+
+    // registered on the scheduler thread, so no delta can overtake the initial snapshot
+    scheduler.execute(() -> {
+      try {
+        if (lastPushed == null) {
+          lastPushed = jsonMapper.valueToTree(dashboardManager.loadDashboard());
+        }
+        subscribers.add(subscriber);
+        subscriber.send(SseEmitter.event().name(EVENT_SNAPSHOT)
+            .data(jsonMapper.writeValueAsString(lastPushed)));
+      } catch (RuntimeException e) {
+        log.warn("Dashboard stream: initial snapshot failed: {}", e.getMessage());
+        emitter.completeWithError(e);
+      }
+    });
+    return emitter;
+  }
+
+  @EventListener
+  public void onDashboardChanged(DashboardChangedEvent event) {
+    if (refreshScheduled.compareAndSet(false, true)) {
+      scheduler.schedule(this::refresh, COALESCE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private void refresh() {
+    refreshScheduled.set(false);
+    if (subscribers.isEmpty()) {
+      // nobody listening: the next subscriber loads a fresh snapshot
+      lastPushed = null;
+      return;
+    }
+    try {
+      DashboardBean dashboard = dashboardManager.loadDashboard();
+      JsonNode current = jsonMapper.valueToTree(dashboard);
+      ObjectNode delta = delta(lastPushed, current);
+      lastPushed = current;
+      if (!delta.isEmpty()) {
+        String payload = jsonMapper.writeValueAsString(delta);
+        subscribers.forEach(subscriber -> subscriber.send(SseEmitter.event().name(EVENT_DELTA).data(payload)));
+      }
+    } catch (RuntimeException e) {
+      log.warn("Dashboard stream: refresh failed: {}", e.getMessage());
+    }
+  }
+
+  // top-level properties of current that differ from previous
+  private ObjectNode delta(JsonNode previous, JsonNode current) {
+    ObjectNode delta = jsonMapper.createObjectNode();
+    for (Map.Entry<String, JsonNode> property : current.properties()) {
+      JsonNode old = previous != null ? previous.get(property.getKey()) : null;
+      if (!Objects.equals(old, property.getValue())) {
+        delta.set(property.getKey(), property.getValue());
+      }
+    }
+    return delta;
+  }
+
+  private void heartbeat() {
+    subscribers.forEach(subscriber -> subscriber.send(SseEmitter.event().comment("ping")));
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    scheduler.shutdownNow();
+    sender.shutdownNow();
+    subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    subscribers.clear();
+  }
+
+  /**
+   * One SSE connection and its pending events, sent in order by at most one sender thread at a time.
+   * Event builders are not shared: building an event appends to it.
+   */
+  private final class Subscriber {
+
+    private final SseEmitter emitter;
+    private final Queue<SseEmitter.SseEventBuilder> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    private Subscriber(SseEmitter emitter) {
+      this.emitter = emitter;
+    }
+
+    void send(SseEmitter.SseEventBuilder event) {
+      if (closed) {
+        return;
+      }
+      if (pending.incrementAndGet() > MAX_PENDING_EVENTS) {
+        // deltas build on each other: skipping some would leave the client inconsistent
+        close();
+        emitter.complete();
+        return;
+      }
+      queue.add(event);
+      if (draining.compareAndSet(false, true)) {
+        sender.execute(this::drain);
+      }
+    }
+
+    private void drain() {
+      try {
+        SseEmitter.SseEventBuilder event;
+        while (!closed && (event = queue.poll()) != null) {
+          pending.decrementAndGet();
+          emitter.send(event);
+        }
+      } catch (IOException | IllegalStateException e) {
+        close();
+      } finally {
+        draining.set(false);
+      }
+      // an event queued after the last poll but before draining was reset
+      if (!closed && !queue.isEmpty() && draining.compareAndSet(false, true)) {
+        sender.execute(this::drain);
+      }
+    }
+
+    void close() {
+      closed = true;
+      queue.clear();
+      subscribers.remove(this);
+    }
+  }
+}
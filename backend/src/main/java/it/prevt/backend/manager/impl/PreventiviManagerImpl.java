@@ -0,0 +1,30 @@
+package it.prevt.backend.manager.impl;
+
+import it.prevt.backend.bean.PageBean;
+import it.prevt.backend.bean.PreventiviBean;
+import it.prevt.backend.manager.PreventiviManager;
+import it.prevt.backend.repository.PreventiviRepository;
+import it.prevt.backend.request.bean.PreventiviRequestBean;
+import it.prevt.backend.utility.KeysetCursor;
+import it.prevt.backend.utility.PagingUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class PreventiviManagerImpl implements PreventiviManager {
+
+  private final PreventiviRepository repository;
+
+  @Override
+  @Transactional(readOnly = true)
+  public PageBean<PreventiviBean> getPreventiviPage(PreventiviRequestBean request) {
+    PreventiviRequestBean safeRequest =
+        PagingUtils.normalize(request != null ? request : new PreventiviRequestBean());
+    return PagingUtils.toPage(repository.getPreventiviPage(safeRequest), safeRequest,
+        p -> new KeysetCursor(p.getCreatedAt(), p.getId()), rows -> rows);
+  }
+
+}
@@ -0,0 +1,93 @@
+package it.prevt.backend.manager.impl;
+
+import it.prevt.backend.bean.MarginSimulationBean;
+import it.prevt.backend.bean.PricingBean;
+import it.prevt.backend.entity.Preventivo;
+import it.prevt.backend.manager.PricingManager;
+import it.prevt.backend.mapper.PricingRequestMapper;
+import it.prevt.backend.pricing.CostComponents;
+import it.prevt.backend.pricing.MarginItem;
+import it.prevt.backend.pricing.MarginSimulation;
+import it.prevt.backend.pricing.PriceCatalog;
+import it.prevt.backend.pricing.PricingEngine;
+import it.prevt.backend.repository.PreventiviRepository;
+import it.prevt.backend.request.bean.MarginSimulationRequestBean;
+import it.prevt.backend.request.bean.PricingRequestBean;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class PricingManagerImpl implements PricingManager {
+
+  private final PriceCatalog priceCatalog;
+  private final PreventiviRepository preventiviRepository;
+  private final PricingEngine engine;
+  private final PricingRequestMapper mapper;
+
+  private static final long MAX_SCENARIOS = 10_000;
+
+  @Override
+  @Transactional(readOnly = true)
+  public PricingBean price(PricingRequestBean request) {
+    if (request == null) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "error.pricing.request");
+    }
+    return engine.price(request, priceCatalog.current());
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public MarginSimulationBean simulateMargins(MarginSimulationRequestBean request) {
+    if (request == null) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "error.simulation.request");
+    }
+    PricingRequestBean configuration = request.getConfiguration();
+    if (request.getPreventivoId() != null) {
+      configuration = loadConfiguration(request.getPreventivoId());
+    }
+    if (configuration == null) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "error.simulation.request");
+    }
+    CostComponents components = engine.computeCosts(configuration, priceCatalog.current());
+
+    if (request.getTargetTotalePreventivo() != null) {
+      return engine.simulateTarget(components, request.getTargetTotalePreventivo());
+    }
+    Map<MarginItem, List<BigDecimal>> grid = request.getGrid() != null ? request.getGrid() : Map.of();
+    long scenarios = 1;
+    for (List<BigDecimal> values : grid.values()) {
+      if (values != null && !values.isEmpty()) {
+        if (!values.stream().allMatch(MarginSimulation::isSimulable)) {
+          throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "error.simulation.grid");
+        }
+        scenarios *= values.size();
+        if (scenarios > MAX_SCENARIOS) {
+          throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "error.simulation.size");
+        }
+      }
+    }
+    return engine.simulate(components, MarginItem.marginsOf(configuration), grid);
+  }
+
+  private PricingRequestBean loadConfiguration(UUID preventivoId) {
+    Preventivo preventivo = preventiviRepository.find(Preventivo.class, preventivoId);
+    if (preventivo == null) {
+      throw new EntityNotFoundException();
+    }
+    List<UUID> ids = List.of(preventivoId);
+    return mapper.mapEntityToBean(preventivo, preventiviRepository.getServiziByPreventivi(ids).get(preventivoId),
+        preventiviRepository.getAltriBeniServiziTotali(ids).get(preventivoId));
+  }
+
+}
@@ -1,5 +1,6 @@
 package it.prevt.backend.manager.impl;
 
+import it.prevt.backend.bean.PageBean;
 import it.prevt.backend.bean.ProspectBean;
 import it.prevt.backend.entity.Prospect;
 import it.prevt.backend.entity.User;
@@ -7,12 +8,18 @@ import it.prevt.backend.manager.ProspectManager;
 import it.prevt.backend.mapper.ProspectMapper;
 import it.prevt.backend.merger.ProspectMerger;
 import it.prevt.backend.repository.ProspectRepository;
+import it.prevt.backend.request.bean.ProspectRequestBean;
+import it.prevt.backend.request.bean.ProspectSearchRequestBean;
+import it.prevt.backend.utility.KeysetCursor;
+import it.prevt.backend.utility.PagingUtils;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.UUID;
@@ -26,6 +33,8 @@ public class ProspectManagerImpl implements ProspectManager {
   private final ProspectMapper mapper;
   private final ProspectMerger merger;
 
+  private static final int MIN_SEARCH_LENGTH = 3;
+
   @Override
   public List<ProspectBean> getProspectList() {
     List<Prospect> prospects = repository.getProspectList();
@@ -35,6 +44,37 @@ public class ProspectManagerImpl implements ProspectManager {
     return mapper.mapEntitiesToBeans(prospects);
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public PageBean<ProspectBean> getProspectPage(ProspectRequestBean request) {
+    ProspectRequestBean safeRequest =
+        PagingUtils.normalize(request != null ? request : new ProspectRequestBean());
+    PageBean<ProspectBean> page = PagingUtils.toPage(repository.getProspectPage(safeRequest),
+        safeRequest, p -> new KeysetCursor(p.getCreatedAt(), p.getId()), mapper::mapEntitiesToBeans);
+    // il totale non cambia scorrendo le pagine: lo si conta solo sulla prima
+    if (safeRequest.getCursor() == null) {
+      page.setTotalCount(repository.countProspects(safeRequest));
+    }
+    return page;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public PageBean<ProspectBean> searchProspects(ProspectSearchRequestBean request) {
+    String query = request != null && request.getQuery() != null ? request.getQuery().trim() : "";
+    // sotto i 3 caratteri non esistono trigrammi e la ricerca diventerebbe una scansione completa
+    if (query.length() < MIN_SEARCH_LENGTH) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "error.search.query");
+    }
+    request.setQuery(query);
+    // risultati ordinati per rilevanza: solo paginazione a offset
+    request.setKeyset(false);
+    request.setCursor(null);
+    PagingUtils.normalize(request);
+    return PagingUtils.toPage(repository.searchProspects(request), request, null,
+        mapper::mapEntitiesToBeans);
+  }
+
   @Override
   public ProspectBean saveProspect(ProspectBean bean, Authentication authentication) {
     Prospect entity;
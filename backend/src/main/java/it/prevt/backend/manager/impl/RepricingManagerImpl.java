@@ -0,0 +1,224 @@
+package it.prevt.backend.manager.impl;
+
+import it.prevt.backend.bean.PricingBean;
+import it.prevt.backend.bean.RepricingJobBean;
+import it.prevt.backend.entity.Preventivo;
+import it.prevt.backend.entity.PreventivoServiziEntity;
+import it.prevt.backend.event.PriceCatalogUpdatedEvent;
+import it.prevt.backend.manager.RepricingManager;
+import it.prevt.backend.mapper.PricingRequestMapper;
+import it.prevt.backend.pricing.PriceCatalog;
+import it.prevt.backend.pricing.PriceCatalogSnapshot;
+import it.prevt.backend.pricing.PricingEngine;
+import it.prevt.backend.pricing.StoredPriceColumn;
+import it.prevt.backend.repository.PreventiviRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Re-prices every open quote after a price-list change. A single runner thread walks the quotes in
+ * id order, one chunk per transaction, prices each chunk on a fork-join pool and writes back only
+ * the quotes whose stored figures changed, with batched updates. Committing per chunk keeps the row
+ * locks taken by the dashboard triggers short. Requests that arrive while a job runs are coalesced
+ * into one more run.
+ */
+@Slf4j
+@Service
+public class RepricingManagerImpl implements RepricingManager {
+
+  private final PreventiviRepository repository;
+  private final PriceCatalog priceCatalog;
+  private final PricingEngine engine;
+  private final PricingRequestMapper mapper;
+  private final TransactionTemplate transactionTemplate;
+  private final ForkJoinPool pool;
+  private final int chunkSize;
+
+  private final ExecutorService runner = Executors.newSingleThreadExecutor(r -> {
+    Thread thread = new Thread(r, "repricing");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final AtomicBoolean pending = new AtomicBoolean();
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  private volatile Progress current;
+
+  public RepricingManagerImpl(PreventiviRepository repository,
+      PriceCatalog priceCatalog, PricingEngine engine, PricingRequestMapper mapper,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.repricing.parallelism:0}") int parallelism,
+      @Value("${app.repricing.chunk-size:500}") int chunkSize) {
+    this.repository = repository;
+    this.priceCatalog = priceCatalog;
+    this.engine = engine;
+    this.mapper = mapper;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.pool = new ForkJoinPool(
+        parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    this.chunkSize = chunkSize;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    runner.shutdownNow();
+    pool.shutdownNow();
+  }
+
+  // the new snapshot is already current when this fires
+  @EventListener
+  public void onPriceCatalogUpdated(PriceCatalogUpdatedEvent event) {
+    startRepricing();
+  }
+
+  @Override
+  public RepricingJobBean startRepricing() {
+    pending.set(true);
+    if (running.compareAndSet(false, true)) {
+      runner.execute(this::drain);
+    }
+    return getRepricingStatus();
+  }
+
+  @Override
+  public RepricingJobBean getRepricingStatus() {
+    Progress progress = current;
+    RepricingJobBean bean = progress != null ? progress.toBean() : new RepricingJobBean();
+    if (progress == null) {
+      bean.setStatus(RepricingJobBean.STATUS_IDLE);
+    }
+    bean.setPending(pending.get());
+    return bean;
+  }
+
+  // runs until no request is left; a request landing after running is cleared starts a new drain
+  private void drain() {
+    try {
+      while (pending.get()) {
+        // published before the request is consumed, so a caller never sees an older job as current
+        Progress progress = new Progress();
+        current = progress;
+        pending.set(false);
+        reprice(progress);
+      }
+    } finally {
+      running.set(false);
+    }
+    if (pending.get() && running.compareAndSet(false, true)) {
+      runner.execute(this::drain);
+    }
+  }
+
+  private void reprice(Progress progress) {
+    try {
+      PriceCatalogSnapshot catalog = priceCatalog.current();
+      progress.total =
+          transactionTemplate.execute(status -> repository.countPreventivi(Preventivo.STATO_IN_CORSO));
+      UUID lastId = null;
+      do {
+        UUID after = lastId;
+        lastId = transactionTemplate.execute(status -> repriceChunk(after, catalog, progress));
+      } while (lastId != null);
+      progress.finish(RepricingJobBean.STATUS_COMPLETED, null);
+      log.info("Repricing: {} quotes priced, {} updated in {} ms ({} quotes/s)",
+          progress.processed.get(), progress.updated.get(), progress.elapsedMillis(),
+          String.format("%.0f", progress.throughput()));
+    } catch (RuntimeException e) {
+      progress.finish(RepricingJobBean.STATUS_FAILED, e.getMessage());
+      log.error("Repricing failed after {} quotes", progress.processed.get(), e);
+    }
+  }
+
+  // prices the chunk after lastId; returns the id to continue from, null once there is none left
+  private UUID repriceChunk(UUID lastId, PriceCatalogSnapshot catalog, Progress progress) {
+    List<Preventivo> chunk =
+        repository.getPreventiviAfter(Preventivo.STATO_IN_CORSO, lastId, chunkSize);
+    if (chunk.isEmpty()) {
+      return null;
+    }
+    List<UUID> ids = chunk.stream().map(Preventivo::getId).toList();
+    Map<UUID, PreventivoServiziEntity> servizi = repository.getServiziByPreventivi(ids);
+    Map<UUID, BigDecimal[]> altriBeniServizi = repository.getAltriBeniServiziTotali(ids);
+
+    List<PricingBean> prices = pool.submit(() -> chunk.parallelStream()
+        .map(p -> price(p, servizi.get(p.getId()), altriBeniServizi.get(p.getId()), catalog))
+        .toList()).join();
+
+    Map<UUID, PricingBean> changed = new LinkedHashMap<>();
+    for (int i = 0; i < chunk.size(); i++) {
+      if (!StoredPriceColumn.isUpToDate(chunk.get(i), prices.get(i))) {
+        changed.put(ids.get(i), prices.get(i));
+      }
+    }
+    progress.updated.addAndGet(repository.updatePrices(changed));
+    progress.processed.addAndGet(chunk.size());
+    return chunk.size() < chunkSize ? null : ids.get(ids.size() - 1);
+  }
+
+  private PricingBean price(Preventivo preventivo, PreventivoServiziEntity servizi,
+      BigDecimal[] altriBeniServizi, PriceCatalogSnapshot catalog) {
+    return engine.price(mapper.mapEntityToBean(preventivo, servizi, altriBeniServizi), catalog);
+  }
+
+  private static class Progress {
+
+    private final OffsetDateTime startedAt = OffsetDateTime.now();
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong updated = new AtomicLong();
+    private volatile long total;
+    private volatile String status = RepricingJobBean.STATUS_RUNNING;
+    private volatile OffsetDateTime finishedAt;
+    private volatile long finishedNanos;
+    private volatile String error;
+
+    private void finish(String finalStatus, String finalError) {
+      finishedNanos = System.nanoTime();
+      finishedAt = OffsetDateTime.now();
+      error = finalError;
+      status = finalStatus;
+    }
+
+    private long elapsedMillis() {
+      long end = finishedAt != null ? finishedNanos : System.nanoTime();
+      return (end - startNanos) / 1_000_000;
+    }
+
+    private double throughput() {
+      long millis = elapsedMillis();
+      return millis > 0 ? processed.get() * 1000.0 / millis : 0;
+    }
+
+    private RepricingJobBean toBean() {
+      RepricingJobBean bean = new RepricingJobBean();
+      bean.setStatus(status);
+      bean.setTotalCount(total);
+      bean.setProcessedCount(processed.get());
+      bean.setUpdatedCount(updated.get());
+      bean.setStartedAt(startedAt);
+      bean.setFinishedAt(finishedAt);
+      bean.setElapsedMillis(elapsedMillis());
+      bean.setThroughput(throughput());
+      bean.setError(error);
+      return bean;
+    }
+  }
+}
@@ -20,6 +20,7 @@ public class PreventiviMapper extends AbstractMapper<Preventivo, PreventiviBean>
         bean.setStatus(entity.getStatus());
         bean.setTitolo(entity.getTitolo());
         bean.setTotalePreventivo(entity.getTotalePreventivo());
+        bean.setCreatedAt(entity.getCreatedAt());
 
         if (entity.getProspect() != null) {
             bean.setProspect(prospectMapper.mapEntityToBean(entity.getProspect()));
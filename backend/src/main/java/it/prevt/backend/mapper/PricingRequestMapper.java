@@ -0,0 +1,168 @@
+package it.prevt.backend.mapper;
+
+import it.prevt.backend.entity.Preventivo;
+import it.prevt.backend.entity.PreventivoServiziEntity;
+import it.prevt.backend.request.bean.DeskLayoutRequestBean;
+import it.prevt.backend.request.bean.PricingRequestBean;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Rebuilds the pricing configuration of a stored quote. Services and other goods live in their own
+ * tables and are set by the caller.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PricingRequestMapper extends AbstractMapper<Preventivo, PricingRequestBean> {
+
+  private static final TypeReference<List<DeskLayoutRequestBean>> DESK_LAYOUTS = new TypeReference<>() {
+  };
+
+  private static final TypeReference<Map<String, Integer>> ACCESSORI_STAND = new TypeReference<>() {
+  };
+
+  private final JsonMapper jsonMapper;
+
+  protected PricingRequestBean doMapping(Preventivo entity) {
+    PricingRequestBean bean = new PricingRequestBean();
+    bean.setProfondita(entity.getProfondita());
+    bean.setLarghezza(entity.getLarghezza());
+    bean.setAltezza(entity.getAltezza());
+    bean.setLayout(entity.getLayout());
+    bean.setDistribuzione(entity.getDistribuzione());
+    bean.setBifaccialita(entity.getBifaccialita());
+    bean.setPremontaggio(entity.getPremontaggio());
+    bean.setRetroilluminazione(entity.getRetroilluminazione());
+    bean.setExtraPercComplex(entity.getExtraPercComplex());
+    bean.setAccessoriStand(accessoriStand(entity));
+
+    bean.setLargStorage(entity.getLargStorage());
+    bean.setProfStorage(entity.getProfStorage());
+    bean.setAltStorage(entity.getAltStorage());
+    bean.setLayoutStorage(entity.getLayoutStorage());
+    bean.setNumeroPorte(numeroPorte(entity.getNumeroPorte()));
+
+    bean.setDeskLayouts(deskLayouts(entity));
+    bean.setPortaScorrevole(entity.getPortaScorrevole());
+    bean.setRipianoSuperiore(entity.getRipianoSuperiore());
+    bean.setRipianoInferiore(entity.getRipianoInferiore());
+    bean.setTecaPlexiglass(entity.getTecaPlexiglass());
+    bean.setFronteLuminoso(entity.getFronteLuminoso());
+    bean.setBorsa(entity.getBorsa());
+
+    bean.setQtaTipo30(entity.getQtaTipo30());
+    bean.setQtaTipo50(entity.getQtaTipo50());
+    bean.setQtaTipo100(entity.getQtaTipo100());
+    bean.setRipiano30x30(entity.getRipiano30x30());
+    bean.setRipiano50x50(entity.getRipiano50x50());
+    bean.setRipiano100x50(entity.getRipiano100x50());
+    bean.setTecaPlexiglass30x30x30(entity.getTecaPlexiglass30x30x30());
+    bean.setTecaPlexiglass50x50x50(entity.getTecaPlexiglass50x50x50());
+    bean.setTecaPlexiglass100x50x30(entity.getTecaPlexiglass100x50x30());
+    bean.setRetroilluminazione30x30x100h(entity.getRetroilluminazione30x30x100h());
+    bean.setRetroilluminazione50x50x100h(entity.getRetroilluminazione50x50x100h());
+    bean.setRetroilluminazione100x50x100h(entity.getRetroilluminazione100x50x100h());
+    bean.setBorsaEspositori(entity.getBorsaEspositori());
+
+    bean.setServizioMontaggioSmontaggio(entity.getServizioMontaggioSmontaggio());
+    bean.setServizioCertificazioni(entity.getServizioCertificazioni());
+    bean.setServizioIstruzioniAssistenza(entity.getServizioIstruzioniAssistenza());
+
+    bean.setMarginalitaStruttura(entity.getMarginalitaStruttura());
+    bean.setMarginalitaGrafica(entity.getMarginalitaGrafica());
+    bean.setMarginalitaRetroilluminazione(entity.getMarginalitaRetroilluminazione());
+    bean.setMarginalitaAccessori(entity.getMarginalitaAccessori());
+    bean.setMarginalitaPremontaggio(entity.getMarginalitaPremontaggio());
+    bean.setMarginalitaStrutturaStorage(entity.getMarginalitaStrutturaStorage());
+    bean.setMarginalitaGraficaStorage(entity.getMarginalitaGraficaStorage());
+    bean.setMarginalitaPremontaggioStorage(entity.getMarginalitaPremontaggioStorage());
+    bean.setMarginalitaStrutturaDesk(entity.getMarginalitaStrutturaDesk());
+    bean.setMarginalitaGraficaDesk(entity.getMarginalitaGraficaDesk());
+    bean.setMarginalitaPremontaggioDesk(entity.getMarginalitaPremontaggioDesk());
+    bean.setMarginalitaAccessoriDesk(entity.getMarginalitaAccessoriDesk());
+    bean.setMarginalitaStrutturaEspositori(entity.getMarginalitaStrutturaEspositori());
+    bean.setMarginalitaGraficaEspositori(entity.getMarginalitaGraficaEspositori());
+    bean.setMarginalitaPremontaggioEspositori(entity.getMarginalitaPremontaggioEspositori());
+    bean.setMarginalitaAccessoriEspositori(entity.getMarginalitaAccessoriEspositori());
+    return bean;
+  }
+
+  /**
+   * Configuration of a stored quote with its services row and other-goods totals ({totale, costo});
+   * both may be null.
+   */
+  public PricingRequestBean mapEntityToBean(Preventivo entity, PreventivoServiziEntity servizi,
+      BigDecimal[] altriBeniServizi) {
+    PricingRequestBean bean = mapEntityToBean(entity);
+    if (servizi != null) {
+      bean.setPreventivoMontaggio(servizi.getPreventivoMontaggio());
+      bean.setPreventivoSmontaggio(servizi.getPreventivoSmontaggio());
+      bean.setTotaleCostoMontaggio(servizi.getTotaleCostoMontaggio());
+      bean.setTotaleCostoSmontaggio(servizi.getTotaleCostoSmontaggio());
+    }
+    if (altriBeniServizi != null) {
+      bean.setAltriBeniServiziTotale(altriBeniServizi[0]);
+      bean.setAltriBeniServiziCosti(altriBeniServizi[1]);
+    }
+    return bean;
+  }
+
+  // layout_desk is a JSON array [{layout, quantity}]; older quotes store a single layout with desk_qta
+  private List<DeskLayoutRequestBean> deskLayouts(Preventivo entity) {
+    String layoutDesk = entity.getLayoutDesk();
+    if (layoutDesk == null || layoutDesk.isBlank()) {
+      return List.of();
+    }
+    if (!layoutDesk.trim().startsWith("[")) {
+      return List.of(new DeskLayoutRequestBean(layoutDesk.trim(), entity.getDeskQta()));
+    }
+    try {
+      return jsonMapper.readValue(layoutDesk, DESK_LAYOUTS);
+    } catch (JacksonException e) {
+      log.warn("Preventivo {}: layout_desk non leggibile: {}", entity.getId(), e.getMessage());
+      return List.of();
+    }
+  }
+
+  private Map<UUID, Integer> accessoriStand(Preventivo entity) {
+    String config = entity.getAccessoriStandConfig();
+    if (config == null || config.isBlank()) {
+      return Map.of();
+    }
+    Map<UUID, Integer> accessori = new HashMap<>();
+    try {
+      jsonMapper.readValue(config, ACCESSORI_STAND).forEach((id, qta) -> {
+        try {
+          accessori.put(UUID.fromString(id), qta);
+        } catch (IllegalArgumentException e) { // NOSONAR
+          // chiave non valida: l'accessorio non esiste a listino
+        }
+      });
+    } catch (JacksonException e) {
+      log.warn("Preventivo {}: accessori_stand_config non leggibile: {}", entity.getId(), e.getMessage());
+    }
+    return accessori;
+  }
+
+  private Integer numeroPorte(String numeroPorte) {
+    if (numeroPorte == null || numeroPorte.isBlank()) {
+      return 0;
+    }
+    try {
+      return new BigDecimal(numeroPorte.trim()).intValue();
+    } catch (NumberFormatException e) { // NOSONAR
+      return 0;
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package it.prevt.backend.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class MetricsConfig implements WebMvcConfigurer {
+
+  private final StatementsPerRequestInterceptor statementsPerRequestInterceptor;
+
+  @Bean
+  public HibernatePropertiesCustomizer statementCounterCustomizer(StatementCounter statementCounter) {
+    return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(statementsPerRequestInterceptor).addPathPatterns("/api/**");
+  }
+}
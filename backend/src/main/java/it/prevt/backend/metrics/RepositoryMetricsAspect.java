@@ -0,0 +1,90 @@
+package it.prevt.backend.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.BaseStream;
+
+/**
+ * Times every method declared on a repository interface and records rows returned and statements
+ * executed, tagged by repository and method. Calls above the slow-query threshold are logged.
+ */
+@Aspect
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+
+  public static final String METRIC_CALLS = "prevt.repository.calls";
+  public static final String METRIC_ROWS = "prevt.repository.rows";
+  public static final String METRIC_STATEMENTS = "prevt.repository.statements";
+
+  private final MeterRegistry registry;
+  private final StatementCounter statementCounter;
+
+  @Value("${app.repository.slow-query-threshold:500ms}")
+  private Duration slowQueryThreshold;
+
+  @Around("execution(public * it.prevt.backend.repository.*Repository.*(..))")
+  public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+    String repository = AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName();
+    String method = joinPoint.getSignature().getName();
+    long statementsBefore = statementCounter.current();
+    long start = System.nanoTime();
+    String exception = "none";
+    Object result = null;
+    try {
+      result = joinPoint.proceed();
+      return result;
+    } catch (Throwable t) {
+      exception = t.getClass().getSimpleName();
+      throw t;
+    } finally {
+      long elapsed = System.nanoTime() - start;
+      long statements = statementCounter.current() - statementsBefore;
+      Timer.builder(METRIC_CALLS).tag("repository", repository).tag("method", method)
+          .tag("exception", exception).register(registry).record(Duration.ofNanos(elapsed));
+      DistributionSummary.builder(METRIC_STATEMENTS).tag("repository", repository)
+          .tag("method", method).register(registry).record(statements);
+      long rows = countRows(joinPoint, result);
+      if (rows >= 0) {
+        DistributionSummary.builder(METRIC_ROWS).tag("repository", repository)
+            .tag("method", method).register(registry).record(rows);
+      }
+      if (elapsed > slowQueryThreshold.toNanos()) {
+        log.warn("Slow repository call {}.{}: {} ms, {} statements, {} rows", repository, method,
+            elapsed / 1_000_000, statements, rows >= 0 ? rows : "n/a");
+      }
+    }
+  }
+
+  // -1 when the result is not a row set (void, scalar, lazy stream)
+  private long countRows(ProceedingJoinPoint joinPoint, Object result) {
+    Class<?> returnType = ((MethodSignature) joinPoint.getSignature()).getReturnType();
+    if (returnType == void.class || Number.class.isAssignableFrom(returnType)
+        || returnType == Boolean.class || BaseStream.class.isAssignableFrom(returnType)
+        || returnType == String.class || returnType.isPrimitive()) {
+      return -1;
+    }
+    if (result instanceof Collection<?> collection) {
+      return collection.size();
+    }
+    if (result instanceof Map<?, ?> map) {
+      return map.size();
+    }
+    return result == null ? 0 : 1;
+  }
+}
@@ -0,0 +1,25 @@
+package it.prevt.backend.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the JDBC statements Hibernate prepares on the current thread, the same events behind
+ * Statistics#getPrepareStatementCount. The global Statistics are shared by every request, so
+ * per-call and per-request figures are taken as differences of this thread-local counter.
+ */
+@Component
+public class StatementCounter implements StatementInspector {
+
+  private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+  @Override
+  public String inspect(String sql) {
+    COUNT.get()[0]++;
+    return sql;
+  }
+
+  public long current() {
+    return COUNT.get()[0];
+  }
+}
@@ -0,0 +1,46 @@
+package it.prevt.backend.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records the statements executed by each request, tagged by its URI template.
+ */
+@Component
+@RequiredArgsConstructor
+public class StatementsPerRequestInterceptor implements HandlerInterceptor {
+
+  public static final String METRIC_STATEMENTS = "prevt.http.statements";
+
+  private static final String START_ATTRIBUTE =
+      StatementsPerRequestInterceptor.class.getName() + ".start";
+
+  private final MeterRegistry registry;
+  private final StatementCounter statementCounter;
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+      Object handler) {
+    request.setAttribute(START_ATTRIBUTE, statementCounter.current());
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+      Object handler, Exception ex) {
+    Object start = request.getAttribute(START_ATTRIBUTE);
+    if (!(start instanceof Long startCount)) {
+      return;
+    }
+    Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    DistributionSummary.builder(METRIC_STATEMENTS).tag("method", request.getMethod())
+        .tag("uri", uri != null ? uri.toString() : "UNKNOWN").register(registry)
+        .record(statementCounter.current() - startCount);
+  }
+}
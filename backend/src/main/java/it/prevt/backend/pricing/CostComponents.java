@@ -0,0 +1,49 @@
+package it.prevt.backend.pricing;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Margin-independent part of a priced quote: physical measures and costs. Computed once per
+ * configuration, then combined with any number of margin vectors.
+ */
+@Getter
+@Setter
+public class CostComponents {
+
+  private BigDecimal superficieStampa = BigDecimal.ZERO;
+  private BigDecimal sviluppoLineare = BigDecimal.ZERO;
+  private BigDecimal numeroPezzi = BigDecimal.ZERO;
+  private BigDecimal superficieStampaStorage = BigDecimal.ZERO;
+  private BigDecimal sviluppoMetriLineariStorage = BigDecimal.ZERO;
+  private BigDecimal numeroPezziStorage = BigDecimal.ZERO;
+  private BigDecimal superficieStampaDesk = BigDecimal.ZERO;
+  private BigDecimal numeroPezziDesk = BigDecimal.ZERO;
+  private BigDecimal superficieStampaEspositori = BigDecimal.ZERO;
+  private BigDecimal numeroPezziEspositori = BigDecimal.ZERO;
+
+  // costs carrying a margin, indexed by MarginItem ordinal
+  private final BigDecimal[] costs = new BigDecimal[MarginItem.values().length];
+
+  // added to the price as is, without margin
+  private BigDecimal extraStandComplesso = BigDecimal.ZERO;
+  private BigDecimal costoServizi = BigDecimal.ZERO;
+  private BigDecimal preventivoServizi = BigDecimal.ZERO;
+  private BigDecimal costoAltriBeniServizi = BigDecimal.ZERO;
+  private BigDecimal preventivoAltriBeniServizi = BigDecimal.ZERO;
+
+  public CostComponents() {
+    Arrays.fill(costs, BigDecimal.ZERO);
+  }
+
+  public BigDecimal getCost(MarginItem item) {
+    return costs[item.ordinal()];
+  }
+
+  public void setCost(MarginItem item, BigDecimal cost) {
+    costs[item.ordinal()] = cost;
+  }
+}
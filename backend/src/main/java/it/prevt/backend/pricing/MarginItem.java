@@ -0,0 +1,59 @@
+package it.prevt.backend.pricing;
+
+import it.prevt.backend.request.bean.PricingRequestBean;
+
+import java.math.BigDecimal;
+import java.util.function.Function;
+
+/**
+ * The sixteen cost components of a quote that carry their own marginalita_* percentage. The ordinal
+ * indexes the cost and margin arrays of {@link CostComponents}.
+ */
+public enum MarginItem {
+  STRUTTURA(PriceCategory.STRUTTURA, PricingRequestBean::getMarginalitaStruttura),
+  GRAFICA(PriceCategory.GRAFICHE, PricingRequestBean::getMarginalitaGrafica),
+  RETROILLUMINAZIONE(PriceCategory.RETROILLUMINAZIONE, PricingRequestBean::getMarginalitaRetroilluminazione),
+  ACCESSORI(PriceCategory.ACCESSORI, PricingRequestBean::getMarginalitaAccessori),
+  PREMONTAGGIO(PriceCategory.PREMONTAGGI, PricingRequestBean::getMarginalitaPremontaggio),
+  STRUTTURA_STORAGE(PriceCategory.STRUTTURA, PricingRequestBean::getMarginalitaStrutturaStorage),
+  GRAFICA_STORAGE(PriceCategory.GRAFICHE, PricingRequestBean::getMarginalitaGraficaStorage),
+  PREMONTAGGIO_STORAGE(PriceCategory.PREMONTAGGI, PricingRequestBean::getMarginalitaPremontaggioStorage),
+  STRUTTURA_DESK(PriceCategory.STRUTTURA, PricingRequestBean::getMarginalitaStrutturaDesk),
+  GRAFICA_DESK(PriceCategory.GRAFICHE, PricingRequestBean::getMarginalitaGraficaDesk),
+  PREMONTAGGIO_DESK(PriceCategory.PREMONTAGGI, PricingRequestBean::getMarginalitaPremontaggioDesk),
+  ACCESSORI_DESK(PriceCategory.ACCESSORI, PricingRequestBean::getMarginalitaAccessoriDesk),
+  STRUTTURA_ESPOSITORI(PriceCategory.STRUTTURA, PricingRequestBean::getMarginalitaStrutturaEspositori),
+  GRAFICA_ESPOSITORI(PriceCategory.GRAFICHE, PricingRequestBean::getMarginalitaGraficaEspositori),
+  PREMONTAGGIO_ESPOSITORI(PriceCategory.PREMONTAGGI, PricingRequestBean::getMarginalitaPremontaggioEspositori),
+  ACCESSORI_ESPOSITORI(PriceCategory.ACCESSORI, PricingRequestBean::getMarginalitaAccessoriEspositori);
+
+  // default of every marginalita_* column
+  public static final BigDecimal DEFAULT_MARGIN = BigDecimal.valueOf(50);
+
+  private static final MarginItem[] VALUES = values();
+
+  private final PriceCategory category;
+
+  private final Function<PricingRequestBean, BigDecimal> marginGetter;
+
+  MarginItem(PriceCategory category, Function<PricingRequestBean, BigDecimal> marginGetter) {
+    this.category = category;
+    this.marginGetter = marginGetter;
+  }
+
+  public PriceCategory getCategory() {
+    return category;
+  }
+
+  /**
+   * Margin vector of the request, indexed by ordinal; missing margins take the column default.
+   */
+  public static BigDecimal[] marginsOf(PricingRequestBean request) {
+    BigDecimal[] margins = new BigDecimal[VALUES.length];
+    for (MarginItem item : VALUES) {
+      BigDecimal margin = item.marginGetter.apply(request);
+      margins[item.ordinal()] = margin != null ? margin : DEFAULT_MARGIN;
+    }
+    return margins;
+  }
+}
@@ -0,0 +1,98 @@
+package it.prevt.backend.pricing;
+
+import it.prevt.backend.utility.Money;
+import it.prevt.backend.utility.Rate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Cost side of a quote fixed once, ready to be priced under many margin vectors. Costs are the
+ * unscaled values of {@link Money} and margins of {@link Rate}, so every margin amount is an exact
+ * long product: a scenario costs sixteen multiply-adds and no allocation.
+ */
+public final class MarginSimulation {
+
+  public static final int MARGIN_SCALE = Rate.SCALE;
+
+  // below -100% the customer would be paid to take the item, above 1000% it is a typo
+  private static final BigDecimal MIN_MARGIN = BigDecimal.valueOf(-100);
+  private static final BigDecimal MAX_MARGIN = BigDecimal.valueOf(1000);
+
+  // cost scale + margin scale + the /100 of a percentage
+  private static final int AMOUNT_SCALE = Money.SCALE + MARGIN_SCALE + 2;
+
+  private final long[] costs;
+
+  // price with every margin at zero: costs, extra stand complesso, services and other goods
+  private final BigDecimal basePrice;
+
+  private final BigDecimal totaleCosti;
+
+  // sum of the costs that carry a margin
+  private final BigDecimal marginableCost;
+
+  public MarginSimulation(CostComponents components) {
+    MarginItem[] items = MarginItem.values();
+    costs = new long[items.length];
+    BigDecimal sum = BigDecimal.ZERO;
+    for (MarginItem item : items) {
+      BigDecimal cost = components.getCost(item);
+      costs[item.ordinal()] = Money.of(cost).unscaled();
+      sum = sum.add(cost);
+    }
+    marginableCost = sum;
+    basePrice = sum.add(components.getExtraStandComplesso()).add(components.getPreventivoServizi())
+        .add(components.getPreventivoAltriBeniServizi());
+    totaleCosti = sum.add(components.getCostoServizi()).add(components.getCostoAltriBeniServizi());
+  }
+
+  /**
+   * Whether {@code margin} can be a simulated margin: {@link #scaleMargin} keeps it exactly and
+   * {@link #marginAmount} cannot overflow on it for any real quote.
+   */
+  public static boolean isSimulable(BigDecimal margin) {
+    return margin != null && margin.compareTo(MIN_MARGIN) >= 0 && margin.compareTo(MAX_MARGIN) <= 0
+        && (margin.scale() <= MARGIN_SCALE || margin.stripTrailingZeros().scale() <= MARGIN_SCALE);
+  }
+
+  public static long scaleMargin(BigDecimal margin) {
+    return Rate.of(margin).unscaled();
+  }
+
+  public static BigDecimal unscaleMargin(long margin) {
+    return Rate.ofUnscaled(margin).toBigDecimal();
+  }
+
+  /**
+   * Sum of cost * margin over the sixteen items, in units of 10^-{@value #AMOUNT_SCALE}; margins are
+   * scaled with {@link #scaleMargin} and indexed by {@link MarginItem} ordinal.
+   */
+  public long marginAmount(long[] margins) {
+    long amount = 0;
+    for (int i = 0; i < costs.length; i++) {
+      amount = Math.addExact(amount, Math.multiplyExact(costs[i], margins[i]));
+    }
+    return amount;
+  }
+
+  public BigDecimal totalePreventivo(long marginAmount) {
+    return basePrice.add(BigDecimal.valueOf(marginAmount, AMOUNT_SCALE));
+  }
+
+  /**
+   * The single margin that, applied to every item, prices the quote at {@code target}; null when no
+   * cost carries a margin.
+   */
+  public BigDecimal uniformMarginFor(BigDecimal target) {
+    if (marginableCost.signum() == 0) {
+      return null;
+    }
+    return target.subtract(basePrice).multiply(BigDecimal.valueOf(100))
+        .divide(marginableCost, MARGIN_SCALE, RoundingMode.HALF_UP);
+  }
+
+  public BigDecimal getTotaleCosti() {
+    return totaleCosti;
+  }
+}
@@ -0,0 +1,128 @@
+package it.prevt.backend.pricing;
+
+import it.prevt.backend.event.PriceCatalogChangedEvent;
+import it.prevt.backend.event.PriceCatalogUpdatedEvent;
+import it.prevt.backend.repository.PriceCatalogRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The active price catalog held in memory. Readers get the current immutable snapshot without
+ * locking; rebuilds load a new snapshot on the catalog thread and swap it in atomically. A rebuild
+ * runs after a catalog write commits in this backend, and whenever the version stored in
+ * price_catalog_version moves, which also catches writes made directly on the database.
+ */
+@Slf4j
+@Component
+public class PriceCatalog {
+
+  private final PriceCatalogRepository repository;
+  private final TransactionTemplate transactionTemplate;
+  private final ApplicationEventPublisher publisher;
+  private final Duration pollInterval;
+
+  private final AtomicReference<PriceCatalogSnapshot> current = new AtomicReference<>();
+  private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+    Thread thread = new Thread(r, "price-catalog");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  public PriceCatalog(PriceCatalogRepository repository, PlatformTransactionManager transactionManager,
+      ApplicationEventPublisher publisher,
+      @Value("${app.price-catalog.poll-interval:30s}") Duration pollInterval) {
+    this.repository = repository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    this.publisher = publisher;
+    this.pollInterval = pollInterval;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    scheduleRebuild();
+    if (!pollInterval.isZero()) {
+      scheduler.scheduleWithFixedDelay(this::checkVersion, pollInterval.toMillis(),
+          pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    scheduler.shutdownNow();
+  }
+
+  /**
+   * Current snapshot; only the very first call before the startup load reads the database.
+   */
+  public PriceCatalogSnapshot current() {
+    PriceCatalogSnapshot snapshot = current.get();
+    return snapshot != null ? snapshot : refresh();
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onPriceCatalogChanged(PriceCatalogChangedEvent event) {
+    scheduleRebuild();
+  }
+
+  /**
+   * Loads the catalog now and swaps it in when its version is newer. Rebuilds are serialized, so
+   * snapshots are published in version order and each newer version is announced exactly once.
+   */
+  public synchronized PriceCatalogSnapshot refresh() {
+    PriceCatalogSnapshot loaded = transactionTemplate.execute(status -> repository.loadSnapshot());
+    PriceCatalogSnapshot previous = current.get();
+    if (previous != null && loaded.getVersion() <= previous.getVersion()) {
+      return previous;
+    }
+    current.set(loaded);
+    log.info("Price catalog: version {} loaded", loaded.getVersion());
+    if (previous != null) {
+      publisher.publishEvent(new PriceCatalogUpdatedEvent(loaded.getVersion()));
+    }
+    return loaded;
+  }
+
+  // a burst of commits leads to one rebuild
+  private void scheduleRebuild() {
+    if (rebuildScheduled.compareAndSet(false, true)) {
+      scheduler.execute(() -> {
+        rebuildScheduled.set(false);
+        try {
+          refresh();
+        } catch (RuntimeException e) {
+          log.warn("Price catalog: rebuild failed: {}", e.getMessage());
+        }
+      });
+    }
+  }
+
+  private void checkVersion() {
+    try {
+      PriceCatalogSnapshot snapshot = current.get();
+      Long version = transactionTemplate.execute(status -> repository.getCatalogVersion());
+      if (snapshot == null || version == null || version != snapshot.getVersion()) {
+        refresh();
+      }
+    } catch (RuntimeException e) {
+      log.warn("Price catalog: version check failed: {}", e.getMessage());
+    }
+  }
+}
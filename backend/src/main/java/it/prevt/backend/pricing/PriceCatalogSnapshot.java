@@ -0,0 +1,177 @@
+package it.prevt.backend.pricing;
+
+import it.prevt.backend.entity.CostoRetroilluminazioneEntity;
+import it.prevt.backend.entity.CostoStrutturaDeskLayoutEntity;
+import it.prevt.backend.entity.CostoStrutturaEspositoriLayoutEntity;
+import it.prevt.backend.entity.ListinoAccessoriDeskEntity;
+import it.prevt.backend.entity.ListinoAccessoriEspositoriEntity;
+import it.prevt.backend.entity.ListinoAccessoriStandEntity;
+import it.prevt.backend.entity.ParametroCostoUnitarioEntity;
+import it.prevt.backend.entity.ParametroEntity;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Immutable, indexed view of the price-list rows used by the pricing engine: the active ones, and
+ * every parametri row since the editor does not filter those either. Every lookup is a map access;
+ * a missing row prices as zero, as the editor did. The version is the one stored in
+ * price_catalog_version when the rows were read.
+ */
+public final class PriceCatalogSnapshot {
+
+  public static final String PARAMETRO_COSTO_ALTEZZA = "costo_altezza";
+  public static final String PARAMETRO_PROFILI_DISTRIBUZIONE = "profili_distribuzione";
+
+  public static final String COSTO_STAMPA_GRAFICA = "Costo Stampa Grafica";
+  public static final String COSTO_PREMONTAGGIO = "Costo Premontaggio";
+  public static final String COSTO_CERTIFICAZIONE = "Costo_certificazione";
+  public static final String COSTO_ISTRUZIONI_ASSISTENZA = "Costo_istruzionieassistenza";
+
+  private final long version;
+
+  private final Map<BigDecimal, BigDecimal> costiAltezza;
+  private final Map<Integer, BigDecimal> profiliDistribuzione;
+  private final Map<String, BigDecimal> costiUnitari;
+  private final Map<UUID, BigDecimal> accessoriStand;
+  private final BigDecimal costoPorta;
+  private final Map<String, BigDecimal> accessoriDesk;
+  private final Map<String, BigDecimal> accessoriEspositori;
+  private final Map<String, BigDecimal> costiStrutturaDesk;
+  private final Map<String, BigDecimal> costiStrutturaEspositori;
+  private final Map<BigDecimal, BigDecimal> costiRetroilluminazione;
+
+  public PriceCatalogSnapshot(long version, List<ParametroEntity> parametri,
+      List<ParametroCostoUnitarioEntity> parametriCostiUnitari,
+      List<ListinoAccessoriStandEntity> listinoAccessoriStand,
+      List<ListinoAccessoriDeskEntity> listinoAccessoriDesk,
+      List<ListinoAccessoriEspositoriEntity> listinoAccessoriEspositori,
+      List<CostoStrutturaDeskLayoutEntity> costiStrutturaDeskLayout,
+      List<CostoStrutturaEspositoriLayoutEntity> costiStrutturaEspositoriLayout,
+      List<CostoRetroilluminazioneEntity> costiRetroilluminazioneList) {
+    this.version = version;
+    Map<BigDecimal, BigDecimal> altezze = new HashMap<>();
+    Map<Integer, BigDecimal> profili = new HashMap<>();
+    for (ParametroEntity p : parametri) {
+      if (PARAMETRO_COSTO_ALTEZZA.equals(p.getTipo()) && p.getValoreChiave() != null) {
+        BigDecimal key = parseKey(p.getValoreChiave());
+        if (key != null) {
+          altezze.putIfAbsent(key, p.getValore());
+        }
+      } else if (PARAMETRO_PROFILI_DISTRIBUZIONE.equals(p.getTipo()) && p.getNome() != null) {
+        try {
+          // l'editor riempie una mappa: a parità di chiave vince l'ultima riga
+          profili.put(Integer.valueOf(p.getNome().trim()), p.getValore());
+        } catch (NumberFormatException e) { // NOSONAR
+          // nome non numerico: ignorato come nell'editor
+        }
+      }
+    }
+    Map<String, BigDecimal> unitari = new HashMap<>();
+    parametriCostiUnitari.forEach(p -> unitari.putIfAbsent(p.getParametro(), p.getValore()));
+
+    Map<UUID, BigDecimal> stand = new HashMap<>();
+    BigDecimal porta = null;
+    for (ListinoAccessoriStandEntity a : listinoAccessoriStand) {
+      stand.put(a.getId(), a.getCostoUnitario());
+      if (porta == null && a.getNome() != null
+          && a.getNome().toLowerCase(Locale.ROOT).contains("porta")) {
+        porta = a.getCostoUnitario();
+      }
+    }
+    Map<String, BigDecimal> desk = new HashMap<>();
+    listinoAccessoriDesk.forEach(a -> desk.putIfAbsent(a.getNome(), a.getCostoUnitario()));
+    Map<String, BigDecimal> espositori = new HashMap<>();
+    listinoAccessoriEspositori.forEach(a -> espositori.putIfAbsent(a.getNome(), a.getCostoUnitario()));
+    Map<String, BigDecimal> strutturaDesk = new HashMap<>();
+    costiStrutturaDeskLayout.forEach(c -> strutturaDesk.putIfAbsent(c.getLayoutDesk(), c.getCostoUnitario()));
+    Map<String, BigDecimal> strutturaEspositori = new HashMap<>();
+    costiStrutturaEspositoriLayout
+        .forEach(c -> strutturaEspositori.putIfAbsent(c.getLayoutEspositore(), c.getCostoUnitario()));
+    Map<BigDecimal, BigDecimal> retro = new HashMap<>();
+    costiRetroilluminazioneList.stream().filter(c -> c.getAltezza() != null)
+        .forEach(c -> retro.putIfAbsent(normalize(c.getAltezza()), c.getCostoAlMetro()));
+
+    this.costiAltezza = Map.copyOf(withoutNullValues(altezze));
+    this.profiliDistribuzione = Map.copyOf(withoutNullValues(profili));
+    this.costiUnitari = Map.copyOf(withoutNullValues(unitari));
+    this.accessoriStand = Map.copyOf(withoutNullValues(stand));
+    this.costoPorta = porta != null ? porta : BigDecimal.ZERO;
+    this.accessoriDesk = Map.copyOf(withoutNullValues(desk));
+    this.accessoriEspositori = Map.copyOf(withoutNullValues(espositori));
+    this.costiStrutturaDesk = Map.copyOf(withoutNullValues(strutturaDesk));
+    this.costiStrutturaEspositori = Map.copyOf(withoutNullValues(strutturaEspositori));
+    this.costiRetroilluminazione = Map.copyOf(withoutNullValues(retro));
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  // costo per metro lineare di struttura all'altezza data
+  public BigDecimal costoAltezza(BigDecimal altezza) {
+    return altezza == null ? BigDecimal.ZERO : costiAltezza.getOrDefault(normalize(altezza), BigDecimal.ZERO);
+  }
+
+  public BigDecimal profiloDistribuzione(Integer distribuzione) {
+    return distribuzione == null ? BigDecimal.ZERO
+        : profiliDistribuzione.getOrDefault(distribuzione, BigDecimal.ZERO);
+  }
+
+  public BigDecimal costoUnitario(String parametro) {
+    return costiUnitari.getOrDefault(parametro, BigDecimal.ZERO);
+  }
+
+  public BigDecimal accessorioStand(UUID id) {
+    return id == null ? BigDecimal.ZERO : accessoriStand.getOrDefault(id, BigDecimal.ZERO);
+  }
+
+  public BigDecimal costoPorta() {
+    return costoPorta;
+  }
+
+  public BigDecimal accessorioDesk(String nome) {
+    return accessoriDesk.getOrDefault(nome, BigDecimal.ZERO);
+  }
+
+  public BigDecimal accessorioEspositori(String nome) {
+    return accessoriEspositori.getOrDefault(nome, BigDecimal.ZERO);
+  }
+
+  public BigDecimal strutturaDesk(String layout) {
+    return layout == null ? BigDecimal.ZERO : costiStrutturaDesk.getOrDefault(layout, BigDecimal.ZERO);
+  }
+
+  public BigDecimal strutturaEspositori(String layout) {
+    return costiStrutturaEspositori.getOrDefault(layout, BigDecimal.ZERO);
+  }
+
+  public BigDecimal retroilluminazioneAlMetro(BigDecimal altezza) {
+    return altezza == null ? BigDecimal.ZERO
+        : costiRetroilluminazione.getOrDefault(normalize(altezza), BigDecimal.ZERO);
+  }
+
+  // 2.5 and 2.50 must hit the same entry
+  private static BigDecimal normalize(BigDecimal value) {
+    return value.stripTrailingZeros();
+  }
+
+  private static BigDecimal parseKey(String value) {
+    try {
+      return normalize(new BigDecimal(value.trim().replace(',', '.')));
+    } catch (NumberFormatException e) { // NOSONAR
+      return null;
+    }
+  }
+
+  private static <K> Map<K, BigDecimal> withoutNullValues(Map<K, BigDecimal> map) {
+    map.values().removeIf(Objects::isNull);
+    map.keySet().removeIf(Objects::isNull);
+    return map;
+  }
+}
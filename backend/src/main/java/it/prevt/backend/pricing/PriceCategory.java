@@ -0,0 +1,8 @@
+package it.prevt.backend.pricing;
+
+/**
+ * Righe del riepilogo "Totale Preventivo Fornitura".
+ */
+public enum PriceCategory {
+  STRUTTURA, GRAFICHE, RETROILLUMINAZIONE, ACCESSORI, PREMONTAGGI
+}
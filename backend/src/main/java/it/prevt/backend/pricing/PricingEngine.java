@@ -0,0 +1,504 @@
+package it.prevt.backend.pricing;
+
+import it.prevt.backend.bean.MarginScenarioBean;
+import it.prevt.backend.bean.MarginSimulationBean;
+import it.prevt.backend.bean.PricingBean;
+import it.prevt.backend.request.bean.DeskLayoutRequestBean;
+import it.prevt.backend.request.bean.PricingRequestBean;
+import it.prevt.backend.utility.CalcUtility;
+import it.prevt.backend.utility.Money;
+import it.prevt.backend.utility.NumberUtils;
+import it.prevt.backend.utility.Rate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Server-side port of the quote editor math (calculateCosts, calculatedStorageCosts,
+ * calculatedDeskCosts, calculatedEspositoriCosts and TotalePreventivoSection). Pricing runs in two
+ * steps: {@link #computeCosts} depends only on the configuration and the catalog, {@link #applyMargins}
+ * only on the costs and the sixteen margins.
+ */
+@Component
+@RequiredArgsConstructor
+public class PricingEngine {
+
+  public static final String LAYOUT_4_LATI = "4_lati";
+  public static final String LAYOUT_3_LATI = "3_lati";
+  public static final String LAYOUT_2_LATI = "2_lati";
+  public static final String LAYOUT_1_LATO = "1_lato";
+
+  private static final BigDecimal TWO = BigDecimal.valueOf(2);
+  private static final BigDecimal TWELVE = BigDecimal.valueOf(12);
+  private static final BigDecimal TWENTY = BigDecimal.valueOf(20);
+
+  private static final Map<String, BigDecimal> SUPERFICIE_DESK =
+      Map.of("50", new BigDecimal("1.5"), "100", TWO, "150", new BigDecimal("2.5"), "200", BigDecimal.valueOf(3));
+
+  private static final Map<String, BigDecimal> PEZZI_DESK =
+      Map.of("50", TWELVE, "100", TWELVE, "150", TWELVE, "200", TWENTY);
+
+  // cost scale + rate scale + the /100 of a percentage
+  private static final int PRICE_AMOUNT_SCALE = Money.SCALE + Rate.SCALE + 2;
+
+  private final CalcUtility calcUtility;
+
+  public PricingBean price(PricingRequestBean request, PriceCatalogSnapshot catalog) {
+    PricingBean bean = applyMargins(computeCosts(request, catalog), MarginItem.marginsOf(request));
+    bean.setCatalogVersion(catalog.getVersion());
+    return bean;
+  }
+
+  public CostComponents computeCosts(PricingRequestBean request, PriceCatalogSnapshot catalog) {
+    CostComponents components = new CostComponents();
+    BigDecimal costoStampa = catalog.costoUnitario(PriceCatalogSnapshot.COSTO_STAMPA_GRAFICA);
+    BigDecimal costoPremontaggio = catalog.costoUnitario(PriceCatalogSnapshot.COSTO_PREMONTAGGIO);
+
+    computeStand(request, catalog, costoStampa, costoPremontaggio, components);
+    computeStorage(request, catalog, costoStampa, costoPremontaggio, components);
+    computeDesk(request, catalog, costoStampa, costoPremontaggio, components);
+    computeEspositori(request, catalog, costoStampa, costoPremontaggio, components);
+    computeServizi(request, catalog, components);
+    return components;
+  }
+
+  public PricingBean applyMargins(CostComponents components, BigDecimal[] margins) {
+    if (!hasFixedPointScale(components, margins)) {
+      return applyMarginsOnBigDecimal(components, margins);
+    }
+    // exact cost * (100 + margin) per category on long: each category is rounded to 4 decimals only
+    // for display, the total once to 2 decimals from the unrounded sum, as applyMarginsOnBigDecimal
+    long[] categoryAmounts = new long[PriceCategory.values().length];
+    long costs = 0;
+    for (MarginItem item : MarginItem.values()) {
+      long cost = Money.of(components.getCost(item)).unscaled();
+      long factor = Math.addExact(Rate.HUNDRED.unscaled(), Rate.of(margins[item.ordinal()]).unscaled());
+      int category = item.getCategory().ordinal();
+      categoryAmounts[category] = Math.addExact(categoryAmounts[category], Math.multiplyExact(cost, factor));
+      costs = Math.addExact(costs, cost);
+    }
+    long amount = Money.sum(Money.of(components.getExtraStandComplesso()),
+        Money.of(components.getPreventivoServizi()), Money.of(components.getPreventivoAltriBeniServizi()))
+        .unscaled();
+    amount = Math.multiplyExact(amount, Money.pow10(PRICE_AMOUNT_SCALE - Money.SCALE));
+    for (long categoryAmount : categoryAmounts) {
+      amount = Math.addExact(amount, categoryAmount);
+    }
+    BigDecimal totalePreventivo = BigDecimal.valueOf(amount, PRICE_AMOUNT_SCALE);
+    BigDecimal totaleCosti = Money.sum(Money.ofUnscaled(costs), Money.of(components.getCostoServizi()),
+        Money.of(components.getCostoAltriBeniServizi())).toBigDecimal();
+
+    PricingBean bean = mapCosts(components);
+    bean.setPreventivoStruttura(categoryPrice(categoryAmounts, PriceCategory.STRUTTURA));
+    bean.setPreventivoGrafiche(categoryPrice(categoryAmounts, PriceCategory.GRAFICHE));
+    bean.setPreventivoRetroilluminazione(categoryPrice(categoryAmounts, PriceCategory.RETROILLUMINAZIONE));
+    bean.setPreventivoAccessori(categoryPrice(categoryAmounts, PriceCategory.ACCESSORI));
+    bean.setPreventivoPremontaggi(categoryPrice(categoryAmounts, PriceCategory.PREMONTAGGI));
+    bean.setTotalePreventivo(calcUtility.round2Decimal(totalePreventivo));
+    bean.setTotaleCosti(calcUtility.round2Decimal(totaleCosti));
+    bean.setMarginalitaMedia(marginalitaMedia(totalePreventivo, totaleCosti));
+    return bean;
+  }
+
+  // the reference formula, for amounts or margins with more decimals than the long path holds
+  private PricingBean applyMarginsOnBigDecimal(CostComponents components, BigDecimal[] margins) {
+    BigDecimal[] categoryPrices = new BigDecimal[PriceCategory.values().length];
+    Arrays.fill(categoryPrices, BigDecimal.ZERO);
+    BigDecimal totaleCosti = BigDecimal.ZERO;
+    for (MarginItem item : MarginItem.values()) {
+      BigDecimal cost = NumberUtils.nullToZero(components.getCost(item));
+      int category = item.getCategory().ordinal();
+      categoryPrices[category] = categoryPrices[category]
+          .add(cost.add(calcUtility.multiply(cost, calcUtility.perc(margins[item.ordinal()]))));
+      totaleCosti = totaleCosti.add(cost);
+    }
+    totaleCosti = calcUtility.sumBigDecimalValues(totaleCosti, components.getCostoServizi(),
+        components.getCostoAltriBeniServizi());
+    BigDecimal totalePreventivo = calcUtility.sumBigDecimalValues(categoryPrices);
+    totalePreventivo = calcUtility.sumBigDecimalValues(totalePreventivo, components.getExtraStandComplesso(),
+        components.getPreventivoServizi(), components.getPreventivoAltriBeniServizi());
+
+    PricingBean bean = mapCosts(components);
+    bean.setPreventivoStruttura(currency(categoryPrices[PriceCategory.STRUTTURA.ordinal()]));
+    bean.setPreventivoGrafiche(currency(categoryPrices[PriceCategory.GRAFICHE.ordinal()]));
+    bean.setPreventivoRetroilluminazione(currency(categoryPrices[PriceCategory.RETROILLUMINAZIONE.ordinal()]));
+    bean.setPreventivoAccessori(currency(categoryPrices[PriceCategory.ACCESSORI.ordinal()]));
+    bean.setPreventivoPremontaggi(currency(categoryPrices[PriceCategory.PREMONTAGGI.ordinal()]));
+    bean.setTotalePreventivo(calcUtility.round2Decimal(totalePreventivo));
+    bean.setTotaleCosti(calcUtility.round2Decimal(totaleCosti));
+    bean.setMarginalitaMedia(marginalitaMedia(totalePreventivo, totaleCosti));
+    return bean;
+  }
+
+  // Money.of and Rate.of would round anything finer than 4 decimals before the sums
+  private static boolean hasFixedPointScale(CostComponents components, BigDecimal[] margins) {
+    for (MarginItem item : MarginItem.values()) {
+      if (!hasScale(components.getCost(item), Money.SCALE)
+          || !hasScale(margins[item.ordinal()], Rate.SCALE)) {
+        return false;
+      }
+    }
+    return hasScale(components.getExtraStandComplesso(), Money.SCALE)
+        && hasScale(components.getCostoServizi(), Money.SCALE)
+        && hasScale(components.getPreventivoServizi(), Money.SCALE)
+        && hasScale(components.getCostoAltriBeniServizi(), Money.SCALE)
+        && hasScale(components.getPreventivoAltriBeniServizi(), Money.SCALE);
+  }
+
+  private static boolean hasScale(BigDecimal value, int scale) {
+    return value == null || value.scale() <= scale || value.stripTrailingZeros().scale() <= scale;
+  }
+
+  /**
+   * Totals of the quote under every combination of the grid values, last item varying fastest; items
+   * missing from the grid keep their base margin. The cost side is evaluated once.
+   */
+  public MarginSimulationBean simulate(CostComponents components, BigDecimal[] baseMargins,
+      Map<MarginItem, List<BigDecimal>> grid) {
+    MarginSimulation simulation = new MarginSimulation(components);
+    long[] margins = new long[baseMargins.length];
+    for (int i = 0; i < margins.length; i++) {
+      margins[i] = MarginSimulation.scaleMargin(baseMargins[i]);
+    }
+    List<MarginItem> axes = grid.entrySet().stream()
+        .filter(e -> e.getValue() != null && !e.getValue().isEmpty()).map(Map.Entry::getKey).sorted()
+        .toList();
+    long[][] values = new long[axes.size()][];
+    long combinations = 1;
+    for (int a = 0; a < values.length; a++) {
+      values[a] = grid.get(axes.get(a)).stream().mapToLong(MarginSimulation::scaleMargin).toArray();
+      combinations *= values[a].length;
+    }
+
+    List<MarginScenarioBean> scenarios = new ArrayList<>((int) combinations);
+    int[] index = new int[values.length];
+    int axis;
+    do {
+      for (int a = 0; a < values.length; a++) {
+        margins[axes.get(a).ordinal()] = values[a][index[a]];
+      }
+      scenarios.add(scenario(simulation, margins));
+      axis = values.length - 1;
+      while (axis >= 0 && ++index[axis] == values[axis].length) {
+        index[axis--] = 0;
+      }
+    } while (axis >= 0);
+    return simulationBean(simulation, scenarios);
+  }
+
+  /**
+   * The uniform margin that brings the quote to {@code target}, or no scenario when nothing carries
+   * a margin.
+   */
+  public MarginSimulationBean simulateTarget(CostComponents components, BigDecimal target) {
+    MarginSimulation simulation = new MarginSimulation(components);
+    BigDecimal margin = simulation.uniformMarginFor(target);
+    List<MarginScenarioBean> scenarios = new ArrayList<>(1);
+    if (margin != null) {
+      long[] margins = new long[MarginItem.values().length];
+      Arrays.fill(margins, MarginSimulation.scaleMargin(margin));
+      scenarios.add(scenario(simulation, margins));
+    }
+    return simulationBean(simulation, scenarios);
+  }
+
+  private MarginScenarioBean scenario(MarginSimulation simulation, long[] margins) {
+    BigDecimal totalePreventivo = simulation.totalePreventivo(simulation.marginAmount(margins));
+    List<BigDecimal> values = new ArrayList<>(margins.length);
+    for (long margin : margins) {
+      values.add(MarginSimulation.unscaleMargin(margin));
+    }
+    MarginScenarioBean bean = new MarginScenarioBean();
+    bean.setMargins(values);
+    bean.setTotalePreventivo(calcUtility.round2Decimal(totalePreventivo));
+    bean.setMarginalitaMedia(marginalitaMedia(totalePreventivo, simulation.getTotaleCosti()));
+    return bean;
+  }
+
+  private MarginSimulationBean simulationBean(MarginSimulation simulation,
+      List<MarginScenarioBean> scenarios) {
+    MarginSimulationBean bean = new MarginSimulationBean();
+    bean.setItems(List.of(MarginItem.values()));
+    bean.setTotaleCosti(calcUtility.round2Decimal(simulation.getTotaleCosti()));
+    bean.setScenarios(scenarios);
+    return bean;
+  }
+
+  // (prezzo - costo) / costo * 100, 0 senza costi
+  public BigDecimal marginalitaMedia(BigDecimal totalePreventivo, BigDecimal totaleCosti) {
+    if (!NumberUtils.isStrictlyPositive(totaleCosti)) {
+      return BigDecimal.ZERO;
+    }
+    return calcUtility.round2Decimal(calcUtility.calculatePercentage(
+        calcUtility.subtractBigDecimalValues(totalePreventivo, totaleCosti), totaleCosti));
+  }
+
+  private void computeStand(PricingRequestBean request, PriceCatalogSnapshot catalog,
+      BigDecimal costoStampa, BigDecimal costoPremontaggio, CostComponents components) {
+    BigDecimal profondita = request.getProfondita();
+    BigDecimal larghezza = request.getLarghezza();
+    BigDecimal altezza = request.getAltezza();
+    if (NumberUtils.isNullOrZero(profondita) || NumberUtils.isNullOrZero(larghezza)
+        || NumberUtils.isNullOrZero(altezza) || request.getLayout() == null
+        || request.getDistribuzione() == null) {
+      return;
+    }
+    BigDecimal bifaccialita = NumberUtils.nullToZero(request.getBifaccialita());
+    BigDecimal bifaccialitaAltezza = bifaccialita.multiply(altezza);
+
+    BigDecimal sviluppoLineare;
+    BigDecimal superficieStampa;
+    switch (request.getLayout()) {
+      case LAYOUT_4_LATI -> {
+        sviluppoLineare = TWO.multiply(larghezza).add(TWO.multiply(profondita));
+        superficieStampa = sviluppoLineare.multiply(altezza).add(bifaccialitaAltezza);
+      }
+      case LAYOUT_3_LATI -> {
+        sviluppoLineare = larghezza.add(TWO.multiply(profondita));
+        superficieStampa = sviluppoLineare.multiply(altezza).add(bifaccialitaAltezza).add(altezza);
+      }
+      case LAYOUT_2_LATI -> {
+        sviluppoLineare = larghezza.add(profondita);
+        superficieStampa = sviluppoLineare.multiply(altezza).add(bifaccialitaAltezza).add(altezza);
+      }
+      case LAYOUT_1_LATO -> {
+        sviluppoLineare = larghezza;
+        superficieStampa = larghezza.multiply(altezza).add(bifaccialitaAltezza).add(altezza);
+      }
+      default -> {
+        sviluppoLineare = BigDecimal.ZERO;
+        superficieStampa = BigDecimal.ZERO;
+      }
+    }
+    int distribuzione = request.getDistribuzione();
+    BigDecimal numeroPezzi = sviluppoLineare.multiply(catalog.profiloDistribuzione(distribuzione))
+        .add(bifaccialita.multiply(BigDecimal.valueOf(distribuzione + 1L)));
+
+    components.setSviluppoLineare(sviluppoLineare);
+    components.setSuperficieStampa(superficieStampa);
+    components.setNumeroPezzi(numeroPezzi);
+
+    BigDecimal struttura = currency(sviluppoLineare.multiply(catalog.costoAltezza(altezza)));
+    components.setCost(MarginItem.STRUTTURA, struttura);
+    components.setCost(MarginItem.GRAFICA, currency(superficieStampa.multiply(costoStampa)));
+    if (Boolean.TRUE.equals(request.getPremontaggio())) {
+      components.setCost(MarginItem.PREMONTAGGIO, currency(numeroPezzi.multiply(costoPremontaggio)));
+    }
+    components.setCost(MarginItem.RETROILLUMINAZIONE, currency(calcUtility.multiply(request.getRetroilluminazione(),
+        catalog.retroilluminazioneAlMetro(altezza))));
+    components.setExtraStandComplesso(
+        currency(calcUtility.multiply(struttura, calcUtility.perc(request.getExtraPercComplex()))));
+
+    BigDecimal accessori = BigDecimal.ZERO;
+    if (request.getAccessoriStand() != null) {
+      for (Map.Entry<UUID, Integer> entry : request.getAccessoriStand().entrySet()) {
+        accessori = accessori.add(quantity(entry.getValue()).multiply(catalog.accessorioStand(entry.getKey())));
+      }
+    }
+    components.setCost(MarginItem.ACCESSORI, currency(accessori));
+  }
+
+  private void computeStorage(PricingRequestBean request, PriceCatalogSnapshot catalog,
+      BigDecimal costoStampa, BigDecimal costoPremontaggio, CostComponents components) {
+    BigDecimal larg = request.getLargStorage();
+    BigDecimal prof = request.getProfStorage();
+    BigDecimal alt = request.getAltStorage();
+    if (NumberUtils.isNullOrZero(larg) || NumberUtils.isNullOrZero(prof) || NumberUtils.isNullOrZero(alt)) {
+      return;
+    }
+    BigDecimal perimetro = TWO.multiply(larg).add(TWO.multiply(prof));
+    BigDecimal superficieStampa;
+    BigDecimal sviluppoLineare;
+    switch (request.getLayoutStorage() != null ? request.getLayoutStorage() : "") {
+      case "0" -> {
+        superficieStampa = perimetro.multiply(alt);
+        sviluppoLineare = larg.add(prof);
+      }
+      case "1" -> {
+        superficieStampa = perimetro.multiply(alt).add(TWO);
+        sviluppoLineare = perimetro;
+      }
+      case "2" -> {
+        superficieStampa = larg.add(prof).multiply(alt).add(TWO);
+        sviluppoLineare = larg.add(prof).add(BigDecimal.ONE);
+      }
+      default -> {
+        superficieStampa = BigDecimal.ZERO;
+        sviluppoLineare = BigDecimal.ZERO;
+      }
+    }
+    BigDecimal numeroPezzi = sviluppoLineare.multiply(catalog.profiloDistribuzione(
+        request.getDistribuzione() != null ? request.getDistribuzione() : 0));
+
+    components.setSuperficieStampaStorage(superficieStampa);
+    components.setSviluppoMetriLineariStorage(sviluppoLineare);
+    components.setNumeroPezziStorage(numeroPezzi);
+
+    BigDecimal porte = quantity(request.getNumeroPorte()).multiply(catalog.costoPorta());
+    components.setCost(MarginItem.STRUTTURA_STORAGE,
+        currency(sviluppoLineare.multiply(catalog.costoAltezza(alt)).add(porte)));
+    components.setCost(MarginItem.GRAFICA_STORAGE, currency(superficieStampa.multiply(costoStampa)));
+    components.setCost(MarginItem.PREMONTAGGIO_STORAGE, currency(numeroPezzi.multiply(costoPremontaggio)));
+  }
+
+  private void computeDesk(PricingRequestBean request, PriceCatalogSnapshot catalog,
+      BigDecimal costoStampa, BigDecimal costoPremontaggio, CostComponents components) {
+    BigDecimal struttura = BigDecimal.ZERO;
+    BigDecimal superficieStampa = BigDecimal.ZERO;
+    BigDecimal numeroPezzi = BigDecimal.ZERO;
+    List<DeskLayoutRequestBean> layouts = request.getDeskLayouts();
+    if (layouts != null) {
+      for (DeskLayoutRequestBean desk : layouts) {
+        if (desk == null || desk.getLayout() == null) {
+          continue;
+        }
+        BigDecimal qta = quantity(desk.getQuantity());
+        struttura = struttura.add(qta.multiply(catalog.strutturaDesk(desk.getLayout())));
+        superficieStampa = superficieStampa.add(qta.multiply(SUPERFICIE_DESK.getOrDefault(desk.getLayout(), BigDecimal.ZERO)));
+        numeroPezzi = numeroPezzi.add(qta.multiply(PEZZI_DESK.getOrDefault(desk.getLayout(), BigDecimal.ZERO)));
+      }
+    }
+    components.setSuperficieStampaDesk(superficieStampa);
+    components.setNumeroPezziDesk(numeroPezzi);
+
+    BigDecimal accessori = calcUtility.sumBigDecimalValues(
+        accessorio(request.getPortaScorrevole(), catalog.accessorioDesk("Porta scorrevole con chiave")),
+        accessorio(request.getRipianoSuperiore(), catalog.accessorioDesk("Ripiano Superiore L 100")),
+        accessorio(request.getRipianoInferiore(), catalog.accessorioDesk("Ripiano Inferiore L 100")),
+        accessorio(request.getTecaPlexiglass(), catalog.accessorioDesk("Teca in plexiglass")),
+        accessorio(request.getFronteLuminoso(), catalog.accessorioDesk("Fronte luminoso dim. 100x100")),
+        accessorio(request.getBorsa(), catalog.accessorioDesk("Borsa")));
+
+    components.setCost(MarginItem.STRUTTURA_DESK, currency(struttura));
+    components.setCost(MarginItem.GRAFICA_DESK, currency(superficieStampa.multiply(costoStampa)));
+    components.setCost(MarginItem.PREMONTAGGIO_DESK, currency(numeroPezzi.multiply(costoPremontaggio)));
+    components.setCost(MarginItem.ACCESSORI_DESK, currency(accessori));
+  }
+
+  private void computeEspositori(PricingRequestBean request, PriceCatalogSnapshot catalog,
+      BigDecimal costoStampa, BigDecimal costoPremontaggio, CostComponents components) {
+    BigDecimal qta30 = quantity(request.getQtaTipo30());
+    BigDecimal qta50 = quantity(request.getQtaTipo50());
+    BigDecimal qta100 = quantity(request.getQtaTipo100());
+    if (qta30.signum() == 0 && qta50.signum() == 0 && qta100.signum() == 0) {
+      return;
+    }
+    BigDecimal numeroPezzi = qta30.add(qta50).add(qta100).multiply(TWELVE);
+    BigDecimal superficieStampa = calcUtility.sumBigDecimalValues(qta30.multiply(new BigDecimal("1.2")),
+        qta50.multiply(TWO), qta100.multiply(BigDecimal.valueOf(3)));
+    components.setNumeroPezziEspositori(numeroPezzi);
+    components.setSuperficieStampaEspositori(superficieStampa);
+
+    BigDecimal struttura = calcUtility.sumBigDecimalValues(qta30.multiply(catalog.strutturaEspositori("30")),
+        qta50.multiply(catalog.strutturaEspositori("50")), qta100.multiply(catalog.strutturaEspositori("100")));
+    BigDecimal accessori = calcUtility.sumBigDecimalValues(
+        accessorio(request.getRipiano30x30(), catalog.accessorioEspositori("Ripiano 30x30")),
+        accessorio(request.getRipiano50x50(), catalog.accessorioEspositori("Ripiano 50x50")),
+        accessorio(request.getRipiano100x50(), catalog.accessorioEspositori("Ripiano 100x50")),
+        accessorio(request.getTecaPlexiglass30x30x30(), catalog.accessorioEspositori("Teca in plexiglass 30x30x30")),
+        accessorio(request.getTecaPlexiglass50x50x50(), catalog.accessorioEspositori("Teca in plexiglass 50x50x50")),
+        accessorio(request.getTecaPlexiglass100x50x30(), catalog.accessorioEspositori("Teca in plexiglass 100x50x30")),
+        accessorio(request.getRetroilluminazione30x30x100h(), catalog.accessorioEspositori("Retroilluminazione 30x30x100 H")),
+        accessorio(request.getRetroilluminazione50x50x100h(), catalog.accessorioEspositori("Retroilluminazione 50x50x100 H")),
+        accessorio(request.getRetroilluminazione100x50x100h(), catalog.accessorioEspositori("Retroilluminazione 100x50x100 H")),
+        accessorio(request.getBorsaEspositori(), catalog.accessorioEspositori("Borsa")));
+
+    components.setCost(MarginItem.STRUTTURA_ESPOSITORI, currency(struttura));
+    components.setCost(MarginItem.GRAFICA_ESPOSITORI, currency(superficieStampa.multiply(costoStampa)));
+    components.setCost(MarginItem.PREMONTAGGIO_ESPOSITORI, currency(numeroPezzi.multiply(costoPremontaggio)));
+    components.setCost(MarginItem.ACCESSORI_ESPOSITORI, currency(accessori));
+  }
+
+  private void computeServizi(PricingRequestBean request, PriceCatalogSnapshot catalog,
+      CostComponents components) {
+    BigDecimal preventivo = BigDecimal.ZERO;
+    BigDecimal costo = BigDecimal.ZERO;
+    if (Boolean.TRUE.equals(request.getServizioMontaggioSmontaggio())) {
+      preventivo = calcUtility.sumBigDecimalValues(request.getPreventivoMontaggio(), request.getPreventivoSmontaggio());
+      costo = calcUtility.sumBigDecimalValues(request.getTotaleCostoMontaggio(), request.getTotaleCostoSmontaggio());
+    }
+    if (Boolean.TRUE.equals(request.getServizioCertificazioni())) {
+      preventivo = preventivo.add(catalog.costoUnitario(PriceCatalogSnapshot.COSTO_CERTIFICAZIONE));
+    }
+    if (Boolean.TRUE.equals(request.getServizioIstruzioniAssistenza())) {
+      preventivo = preventivo.add(catalog.costoUnitario(PriceCatalogSnapshot.COSTO_ISTRUZIONI_ASSISTENZA));
+    }
+    components.setPreventivoServizi(currency(preventivo));
+    components.setCostoServizi(currency(costo));
+    components.setPreventivoAltriBeniServizi(currency(calcUtility.mapToBigDecimal(request.getAltriBeniServiziTotale())));
+    components.setCostoAltriBeniServizi(currency(calcUtility.mapToBigDecimal(request.getAltriBeniServiziCosti())));
+  }
+
+  private PricingBean mapCosts(CostComponents c) {
+    PricingBean bean = new PricingBean();
+    bean.setSuperficieStampa(c.getSuperficieStampa());
+    bean.setSviluppoLineare(c.getSviluppoLineare());
+    bean.setNumeroPezzi(c.getNumeroPezzi());
+    bean.setSuperficieStampaStorage(c.getSuperficieStampaStorage());
+    bean.setSviluppoMetriLineariStorage(c.getSviluppoMetriLineariStorage());
+    bean.setNumeroPezziStorage(c.getNumeroPezziStorage());
+    bean.setSuperficieStampaDesk(c.getSuperficieStampaDesk());
+    bean.setNumeroPezziDesk(c.getNumeroPezziDesk());
+    bean.setSuperficieStampaEspositori(c.getSuperficieStampaEspositori());
+    bean.setNumeroPezziEspositori(c.getNumeroPezziEspositori());
+
+    bean.setCostoStruttura(c.getCost(MarginItem.STRUTTURA));
+    bean.setCostoGrafica(c.getCost(MarginItem.GRAFICA));
+    bean.setCostoPremontaggio(c.getCost(MarginItem.PREMONTAGGIO));
+    bean.setCostoRetroilluminazione(c.getCost(MarginItem.RETROILLUMINAZIONE));
+    bean.setExtraStandComplesso(c.getExtraStandComplesso());
+    bean.setCostoAccessori(c.getCost(MarginItem.ACCESSORI));
+    bean.setCostoTotale(calcUtility.sumBigDecimalValues(bean.getCostoStruttura(), bean.getCostoGrafica(),
+        bean.getCostoPremontaggio(), bean.getCostoRetroilluminazione(), bean.getCostoAccessori(),
+        bean.getExtraStandComplesso()));
+
+    bean.setCostoStrutturaStorage(c.getCost(MarginItem.STRUTTURA_STORAGE));
+    bean.setCostoGraficaStorage(c.getCost(MarginItem.GRAFICA_STORAGE));
+    bean.setCostoPremontaggioStorage(c.getCost(MarginItem.PREMONTAGGIO_STORAGE));
+    bean.setCostoTotaleStorage(calcUtility.sumBigDecimalValues(bean.getCostoStrutturaStorage(),
+        bean.getCostoGraficaStorage(), bean.getCostoPremontaggioStorage()));
+
+    bean.setCostoStrutturaDesk(c.getCost(MarginItem.STRUTTURA_DESK));
+    bean.setCostoGraficaDesk(c.getCost(MarginItem.GRAFICA_DESK));
+    bean.setCostoPremontaggioDesk(c.getCost(MarginItem.PREMONTAGGIO_DESK));
+    bean.setCostoAccessoriDesk(c.getCost(MarginItem.ACCESSORI_DESK));
+    bean.setCostoTotaleDesk(calcUtility.sumBigDecimalValues(bean.getCostoStrutturaDesk(),
+        bean.getCostoGraficaDesk(), bean.getCostoPremontaggioDesk(), bean.getCostoAccessoriDesk()));
+
+    bean.setCostoStrutturaEspositori(c.getCost(MarginItem.STRUTTURA_ESPOSITORI));
+    bean.setCostoGraficaEspositori(c.getCost(MarginItem.GRAFICA_ESPOSITORI));
+    bean.setCostoPremontaggioEspositori(c.getCost(MarginItem.PREMONTAGGIO_ESPOSITORI));
+    bean.setCostoAccessoriEspositori(c.getCost(MarginItem.ACCESSORI_ESPOSITORI));
+    bean.setCostoTotaleEspositori(calcUtility.sumBigDecimalValues(bean.getCostoStrutturaEspositori(),
+        bean.getCostoGraficaEspositori(), bean.getCostoPremontaggioEspositori(),
+        bean.getCostoAccessoriEspositori()));
+
+    bean.setCostoServizi(c.getCostoServizi());
+    bean.setPreventivoServizi(c.getPreventivoServizi());
+    bean.setCostoAltriBeniServizi(c.getCostoAltriBeniServizi());
+    bean.setPreventivoAltriBeniServizi(c.getPreventivoAltriBeniServizi());
+    return bean;
+  }
+
+  private BigDecimal accessorio(Integer quantity, BigDecimal costoUnitario) {
+    return quantity(quantity).multiply(costoUnitario);
+  }
+
+  private static BigDecimal quantity(Integer quantity) {
+    return quantity == null ? BigDecimal.ZERO : BigDecimal.valueOf(quantity.longValue());
+  }
+
+  private static BigDecimal categoryPrice(long[] categoryAmounts, PriceCategory category) {
+    return Money.ofScaled(categoryAmounts[category.ordinal()], PRICE_AMOUNT_SCALE).toBigDecimal();
+  }
+
+  private BigDecimal currency(BigDecimal value) {
+    return calcUtility.roundNdecimal(value, CalcUtility.CURRENCY_PRECISION);
+  }
+}
@@ -0,0 +1,76 @@
+package it.prevt.backend.pricing;
+
+import it.prevt.backend.bean.PricingBean;
+import it.prevt.backend.entity.Preventivo;
+
+import java.math.BigDecimal;
+import java.util.function.Function;
+
+/**
+ * Derived columns of {@code preventivo} that the pricing engine recomputes, with the entity value
+ * they are compared against before a quote is rewritten.
+ */
+public enum StoredPriceColumn {
+  SUPERFICIE_STAMPA("superficie_stampa", Preventivo::getSuperficieStampa, PricingBean::getSuperficieStampa),
+  SVILUPPO_LINEARE("sviluppo_lineare", Preventivo::getSviluppoLineare, PricingBean::getSviluppoLineare),
+  NUMERO_PEZZI("numero_pezzi", Preventivo::getNumeroPezzi, PricingBean::getNumeroPezzi),
+  COSTO_STRUTTURA("costo_struttura", Preventivo::getCostoStruttura, PricingBean::getCostoStruttura),
+  COSTO_GRAFICA("costo_grafica", Preventivo::getCostoGrafica, PricingBean::getCostoGrafica),
+  COSTO_PREMONTAGGIO("costo_premontaggio", Preventivo::getCostoPremontaggio, PricingBean::getCostoPremontaggio),
+  COSTO_RETROILLUMINAZIONE("costo_retroilluminazione", Preventivo::getCostoRetroilluminazione,
+      PricingBean::getCostoRetroilluminazione),
+  EXTRA_STAND_COMPLESSO("extra_stand_complesso", Preventivo::getExtraStandComplesso,
+      PricingBean::getExtraStandComplesso),
+  COSTO_TOTALE("costo_totale", Preventivo::getCostoTotale, PricingBean::getCostoTotale),
+  SUPERFICIE_STAMPA_STORAGE("superficie_stampa_storage", Preventivo::getSuperficieStampaStorage,
+      PricingBean::getSuperficieStampaStorage),
+  SVILUPPO_METRI_LINEARI_STORAGE("sviluppo_metri_lineari_storage", Preventivo::getSviluppoMetriLineariStorage,
+      PricingBean::getSviluppoMetriLineariStorage),
+  NUMERO_PEZZI_STORAGE("numero_pezzi_storage", Preventivo::getNumeroPezziStorage, PricingBean::getNumeroPezziStorage),
+  SUPERFICIE_STAMPA_DESK("superficie_stampa_desk", Preventivo::getSuperficieStampaDesk,
+      PricingBean::getSuperficieStampaDesk),
+  NUMERO_PEZZI_DESK("numero_pezzi_desk", Preventivo::getNumeroPezziDesk, PricingBean::getNumeroPezziDesk),
+  SUPERFICIE_STAMPA_ESPOSITORI("superficie_stampa_espositori", Preventivo::getSuperficieStampaEspositori,
+      PricingBean::getSuperficieStampaEspositori),
+  NUMERO_PEZZI_ESPOSITORI("numero_pezzi_espositori", Preventivo::getNumeroPezziEspositori,
+      PricingBean::getNumeroPezziEspositori),
+  TOTALE_PREVENTIVO("totale_preventivo", Preventivo::getTotalePreventivo, PricingBean::getTotalePreventivo),
+  TOTALE_COSTI("totale_costi", Preventivo::getTotaleCosti, PricingBean::getTotaleCosti);
+
+  private static final StoredPriceColumn[] VALUES = values();
+
+  private final String column;
+
+  private final Function<Preventivo, BigDecimal> storedGetter;
+
+  private final Function<PricingBean, BigDecimal> pricedGetter;
+
+  StoredPriceColumn(String column, Function<Preventivo, BigDecimal> storedGetter,
+      Function<PricingBean, BigDecimal> pricedGetter) {
+    this.column = column;
+    this.storedGetter = storedGetter;
+    this.pricedGetter = pricedGetter;
+  }
+
+  public String getColumn() {
+    return column;
+  }
+
+  public BigDecimal valueOf(PricingBean bean) {
+    return pricedGetter.apply(bean);
+  }
+
+  /**
+   * True when every stored column already holds the priced value; such quotes are not rewritten.
+   */
+  public static boolean isUpToDate(Preventivo entity, PricingBean bean) {
+    for (StoredPriceColumn c : VALUES) {
+      BigDecimal stored = c.storedGetter.apply(entity);
+      BigDecimal priced = c.pricedGetter.apply(bean);
+      if (stored == null ? priced != null : priced == null || stored.compareTo(priced) != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
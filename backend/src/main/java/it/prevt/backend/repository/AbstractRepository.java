@@ -3,9 +3,12 @@ package it.prevt.backend.repository;
 import jakarta.persistence.TypedQuery;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface AbstractRepository {
 
@@ -18,6 +21,9 @@ public interface AbstractRepository {
 
 	<T> T retrieve(Class<T> clazz, UUID id);
 
+	// Entities already in the persistence context are not reloaded; iteration follows the ids order
+	<T> Map<UUID, T> findAllByIds(Class<T> clazz, Collection<UUID> ids);
+
 	<T> T find(Class<T> clazz, UUID id, String... filters);
 
 	<T> Boolean exists(Class<T> clazz, UUID id);
@@ -39,10 +45,20 @@ public interface AbstractRepository {
 
 	<T> List<T> getResultList(TypedQuery<T> query);
 
+	// Server-side cursor, read only: must run inside a transaction and be closed (try-with-resources).
+	// Each entity is detached once the next one is read.
+	<T> Stream<T> stream(TypedQuery<T> query, int fetchSize);
+
+	// Server-side cursor: the persistence context is flushed and cleared after every chunk
+	<T> void forEachChunk(TypedQuery<T> query, int chunkSize, Consumer<List<T>> consumer);
+
 	void delete(Object o);
 
 	void save(Object o);
 
+	// Persisted entities are flushed and detached every JDBC batch, so they are no longer managed afterwards
+	void saveAll(Collection<?> entities);
+
 	void refresh(Object o);
 
 	void flush();
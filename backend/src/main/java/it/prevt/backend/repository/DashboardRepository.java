@@ -1,14 +1,20 @@
 package it.prevt.backend.repository;
 
-import it.prevt.backend.entity.Preventivo;
-import it.prevt.backend.entity.Prospect;
-import it.prevt.backend.request.bean.PreventiviRequestBean;
+import it.prevt.backend.bean.PreventiviBean;
+import it.prevt.backend.bean.PreventiviPerStatusBean;
+import it.prevt.backend.bean.PreventiviTrendBean;
+import it.prevt.backend.entity.DashboardSnapshotEntity;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface DashboardRepository {
 
-    List<Preventivo> getPreventiviList(PreventiviRequestBean preventiviRequestBean);
+    List<PreventiviPerStatusBean> getPreventiviPerStatus();
 
-    List<Prospect> getProspectList();
+    List<PreventiviBean> getUltimiPreventivi(int limit);
+
+    DashboardSnapshotEntity getDashboardSnapshot();
+
+    List<PreventiviTrendBean> getPreventiviTrend(String granularity, LocalDate from, LocalDate to);
 }
@@ -0,0 +1,38 @@
+package it.prevt.backend.repository;
+
+import it.prevt.backend.bean.PreventiviBean;
+import it.prevt.backend.bean.PricingBean;
+import it.prevt.backend.entity.Preventivo;
+import it.prevt.backend.entity.PreventivoServiziEntity;
+import it.prevt.backend.request.bean.PreventiviRequestBean;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public interface PreventiviRepository extends AbstractRepository {
+
+  List<PreventiviBean> getPreventiviPage(PreventiviRequestBean request);
+
+  long countPreventivi(List<String> stati);
+
+  /**
+   * Next chunk of quotes in the given states, in id order, starting after lastId (from the first one
+   * when null): a keyset walk that each chunk can run in a transaction of its own.
+   */
+  List<Preventivo> getPreventiviAfter(List<String> stati, UUID lastId, int limit);
+
+  Map<UUID, PreventivoServiziEntity> getServiziByPreventivi(List<UUID> preventiviIds);
+
+  /**
+   * Other goods and services per quote as {totale, costo}: sum of totale and of costo_unitario * quantita.
+   */
+  Map<UUID, BigDecimal[]> getAltriBeniServiziTotali(List<UUID> preventiviIds);
+
+  /**
+   * Writes the priced columns of each quote with one JDBC batch per batch_size rows, bypassing dirty
+   * checking; the dashboard still hears of it through the database triggers.
+   */
+  int updatePrices(Map<UUID, PricingBean> prices);
+}
@@ -0,0 +1,10 @@
+package it.prevt.backend.repository;
+
+import it.prevt.backend.pricing.PriceCatalogSnapshot;
+
+public interface PriceCatalogRepository extends AbstractRepository {
+
+  long getCatalogVersion();
+
+  PriceCatalogSnapshot loadSnapshot();
+}
@@ -1,10 +1,18 @@
 package it.prevt.backend.repository;
 
 import it.prevt.backend.entity.Prospect;
+import it.prevt.backend.request.bean.ProspectRequestBean;
+import it.prevt.backend.request.bean.ProspectSearchRequestBean;
 
 import java.util.List;
 
 public interface ProspectRepository extends AbstractRepository {
 
   List<Prospect> getProspectList();
+
+  List<Prospect> getProspectPage(ProspectRequestBean request);
+
+  Long countProspects(ProspectRequestBean request);
+
+  List<Prospect> searchProspects(ProspectSearchRequestBean request);
 }
@@ -2,39 +2,45 @@ package it.prevt.backend.repository.impl;
 
 import it.prevt.backend.request.bean.AbstractSearchRequestBean;
 import it.prevt.backend.repository.AbstractRepository;
+import it.prevt.backend.utility.KeysetCursor;
 import jakarta.persistence.*;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Root;
+import org.hibernate.BatchSize;
 import org.hibernate.HibernateException;
+import org.hibernate.OrderingMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
+import org.hibernate.SessionCheckMode;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.lang.reflect.Field;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.format.ResolverStyle;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public abstract class AbstractRepositoryImpl implements AbstractRepository {
 
   @Autowired
   protected EntityManager entityManager;
 
-  private static final String QRY_GENERIC = "FROM %s e WHERE e.%s = :id";
+  @Autowired
+  protected EntityMetadataRegistry entityMetadataRegistry;
 
-  private <T> String extractIdField(Class<T> clazz) {
-    for (Field fld : clazz.getDeclaredFields()) {
-      if (fld.isAnnotationPresent(Id.class)) {
-        return fld.getName();
-      }
-    }
-    throw new HibernateException("No @Id field defined for entity " + clazz.getName());
-  }
+  @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+  protected int jdbcBatchSize;
+
+  // ids per round trip; on PostgreSQL each chunk is bound as a single array parameter
+  private static final int FIND_ALL_BATCH_SIZE = 500;
 
   // Integer IDs
 
@@ -77,6 +83,24 @@ public abstract class AbstractRepositoryImpl implements AbstractRepository {
     return entity;
   }
 
+  @Override
+  public <T> Map<UUID, T> findAllByIds(Class<T> clazz, Collection<UUID> ids) {
+    Map<UUID, T> result = new LinkedHashMap<>();
+    if (ids == null || ids.isEmpty()) {
+      return result;
+    }
+    List<UUID> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+    List<T> entities = entityManager.unwrap(Session.class)
+        .findMultiple(clazz, distinctIds, SessionCheckMode.ENABLED, OrderingMode.ORDERED,
+            new BatchSize(FIND_ALL_BATCH_SIZE));
+    for (int i = 0; i < distinctIds.size(); i++) {
+      if (entities.get(i) != null) {
+        result.put(distinctIds.get(i), entities.get(i));
+      }
+    }
+    return result;
+  }
+
   @Override
   public <T> Boolean exists(Class<T> clazz, UUID id) {
     return existsById(clazz, id);
@@ -89,9 +113,8 @@ public abstract class AbstractRepositoryImpl implements AbstractRepository {
         session.enableFilter(filter);
       }
     }
-    String idField = extractIdField(clazz);
-    String hql = String.format(QRY_GENERIC, clazz.getSimpleName(), idField);
-    Query qry = session.createQuery(hql, clazz);
+    TypedQuery<T> qry =
+        session.createQuery(entityMetadataRegistry.get(clazz).getFindByIdQuery(), clazz);
     qry.setParameter("id", id);
     List<T> results = qry.getResultList();
     return results.isEmpty() ? null : results.get(0);
@@ -103,15 +126,10 @@ public abstract class AbstractRepositoryImpl implements AbstractRepository {
   }
 
   private <T, I> Boolean existsById(Class<T> clazz, I id) {
-    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-    CriteriaQuery<Long> cq = cb.createQuery(Long.class);
-    Root<T> rootEntity = cq.from(clazz);
-
-    String idName = extractIdField(clazz);
-
-    cq.select(cb.count(rootEntity));
-    cq.where(cb.equal(rootEntity.get(idName), id));
-    return entityManager.createQuery(cq).getSingleResult() > 0;
+    TypedQuery<Long> qry =
+        entityManager.createQuery(entityMetadataRegistry.get(clazz).getExistsByIdQuery(), Long.class);
+    qry.setParameter("id", id);
+    return qry.getSingleResult() > 0;
   }
 
   @Override
@@ -187,6 +205,67 @@ public abstract class AbstractRepositoryImpl implements AbstractRepository {
     return result;
   }
 
+  @Override
+  public <T> Stream<T> stream(TypedQuery<T> query, int fetchSize) {
+    ScrollableResults<T> results = scroll(query, fetchSize, true);
+    Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+        Spliterator.ORDERED | Spliterator.NONNULL) {
+      private T previous;
+
+      @Override
+      public boolean tryAdvance(Consumer<? super T> action) {
+        detachIfManaged(previous);
+        if (!results.next()) {
+          previous = null;
+          return false;
+        }
+        previous = results.get();
+        action.accept(previous);
+        return true;
+      }
+    };
+    return StreamSupport.stream(spliterator, false).onClose(results::close);
+  }
+
+  @Override
+  public <T> void forEachChunk(TypedQuery<T> query, int chunkSize, Consumer<List<T>> consumer) {
+    try (ScrollableResults<T> results = scroll(query, chunkSize, false)) {
+      List<T> chunk = new ArrayList<>(chunkSize);
+      while (results.next()) {
+        chunk.add(results.get());
+        if (chunk.size() == chunkSize) {
+          processChunk(chunk, consumer);
+        }
+      }
+      if (!chunk.isEmpty()) {
+        processChunk(chunk, consumer);
+      }
+    }
+  }
+
+  private <T> ScrollableResults<T> scroll(TypedQuery<T> query, int fetchSize, boolean readOnly) {
+    @SuppressWarnings("unchecked")
+    org.hibernate.query.Query<T> hibernateQuery = query.unwrap(org.hibernate.query.Query.class);
+    // with autocommit off and a positive fetch size PgJDBC reads through a server-side cursor
+    hibernateQuery.setFetchSize(fetchSize);
+    hibernateQuery.setReadOnly(readOnly);
+    return hibernateQuery.scroll(ScrollMode.FORWARD_ONLY);
+  }
+
+  private <T> void processChunk(List<T> chunk, Consumer<List<T>> consumer) {
+    consumer.accept(chunk);
+    entityManager.flush();
+    entityManager.clear();
+    chunk.clear();
+  }
+
+  // rows of scalar or DTO queries are not entities and are left alone
+  private void detachIfManaged(Object o) {
+    if (o != null && entityMetadataRegistry.isEntity(o.getClass()) && entityManager.contains(o)) {
+      entityManager.detach(o);
+    }
+  }
+
   @Override
   public void delete(Object o) {
     entityManager.remove(o);
@@ -194,19 +273,16 @@ public abstract class AbstractRepositoryImpl implements AbstractRepository {
 
   @Override
   public <T> void deleteById(long tokenEntity, Class<T> clazz) {
-    String idField = extractIdField(clazz);
-    Query q = entityManager.createQuery(
-        "DELETE " + clazz.getSimpleName() + " WHERE " + idField + " = " + tokenEntity);
+    Query q = entityManager.createQuery(entityMetadataRegistry.get(clazz).getDeleteByIdQuery());
+    q.setParameter("id", tokenEntity);
     q.executeUpdate();
   }
 
   @Override
   public <T> void deleteByIds(List<Long> tokens, Class<T> clazz) {
     if (tokens != null && !tokens.isEmpty()) {
-      String idField = extractIdField(clazz);
-      Query q = entityManager.createQuery(
-          "DELETE " + clazz.getSimpleName() + " WHERE " + idField + " IN " + tokens.stream()
-              .map(n -> String.valueOf(n)).collect(Collectors.joining(",", "(", ")")));
+      Query q = entityManager.createQuery(entityMetadataRegistry.get(clazz).getDeleteByIdsQuery());
+      q.setParameter("ids", tokens);
       q.executeUpdate();
     }
   }
@@ -217,6 +293,33 @@ public abstract class AbstractRepositoryImpl implements AbstractRepository {
     entityManager.persist(o);
   }
 
+  @Override
+  @Transactional(propagation = Propagation.REQUIRED)
+  public void saveAll(Collection<?> entities) {
+    if (entities == null || entities.isEmpty()) {
+      return;
+    }
+    List<Object> pending = new ArrayList<>(jdbcBatchSize);
+    for (Object o : entities) {
+      entityManager.persist(o);
+      pending.add(o);
+      if (pending.size() == jdbcBatchSize) {
+        flushAndDetach(pending);
+      }
+    }
+    flushAndDetach(pending);
+  }
+
+  // keeps the persistence context bounded without clearing entities the caller still manages
+  private void flushAndDetach(List<Object> pending) {
+    if (pending.isEmpty()) {
+      return;
+    }
+    entityManager.flush();
+    pending.forEach(entityManager::detach);
+    pending.clear();
+  }
+
   @Override
   public void refresh(Object o) {
     entityManager.refresh(o);
@@ -237,17 +340,47 @@ public abstract class AbstractRepositoryImpl implements AbstractRepository {
     createListWhereClauseGeneric(tableName, fieldName, values, strQueryWhere, parameters, true);
   }
 
+  /**
+   * Binds the whole list as one collection parameter named after the column, so the HQL text does
+   * not depend on the values; in_clause_parameter_padding keeps the SQL shapes to powers of two.
+   */
   private <E extends Object> void createListWhereClauseGeneric(String tableName, String fieldName,
       List<E> values, StringBuilder strQueryWhere, Map<String, Object> parameters, boolean negate) {
-    strQueryWhere.append(" AND " + tableName + "." + fieldName + (negate ? " NOT" : "") + " IN ( ");
-
-    String whereClause = values.stream().map(x -> {
-      parameters.put("par" + x.toString().replace("-", "_"), x);
-      return " :" + "par" + x.toString().replace("-", "_");
-    }).collect(Collectors.joining(", "));
+    String baseName = "par_" + tableName + "_" + fieldName.replace(".", "_") + (negate ? "_not" : "");
+    String paramName = baseName;
+    for (int i = 1; parameters.containsKey(paramName); i++) {
+      paramName = baseName + "_" + i;
+    }
+    parameters.put(paramName, values);
+    strQueryWhere.append(" AND " + tableName + "." + fieldName + (negate ? " NOT" : "") + " IN (:"
+        + paramName + ") ");
+  }
+
+  /**
+   * Seek predicate for keyset paging on (sortName DESC, idName DESC): only rows strictly after the
+   * request cursor. Nothing is added on the first page or when paging by offset.
+   */
+  protected void createKeysetWhereClause(String tableName, String sortName, String idName,
+      AbstractSearchRequestBean request, StringBuilder strQueryWhere,
+      Map<String, Object> parameters) {
+    if (request == null || !request.isKeysetMode()) {
+      return;
+    }
+    KeysetCursor cursor = KeysetCursor.decode(request.getCursor());
+    if (cursor == null) {
+      return;
+    }
+    // row-value comparison: PostgreSQL turns it into a range bound on the (sort, id) index, while
+    // the expanded "sort < x OR (sort = x AND id < y)" form is only applied as a filter
+    strQueryWhere.append(" AND (" + tableName + "." + sortName + ", " + tableName + "." + idName
+        + ") < (:ksSort, :ksId) ");
+    parameters.put("ksSort", cursor.getSortValue());
+    parameters.put("ksId", cursor.getId());
+  }
 
-    strQueryWhere.append(whereClause);
-    strQueryWhere.append(") ");
+  protected String createKeysetOrderClause(String tableName, String sortName, String idName) {
+    return " ORDER BY " + tableName + "." + sortName + " DESC, " + tableName + "." + idName
+        + " DESC ";
   }
 
   // TODO: manage LocalDate QueryParam
@@ -302,6 +435,13 @@ public abstract class AbstractRepositoryImpl implements AbstractRepository {
     TypedQuery<T> query = entityManager.createQuery(strQueryFinal, outputClazz);
     parameters.forEach(query::setParameter);
 
+    if (retrieveTokens && request != null && request.isKeysetMode()) {
+      // the seek predicate replaces the offset; one extra row tells whether a next page exists
+      if (request.getMaxResult() != null) {
+        query.setMaxResults(request.getMaxResult() + 1);
+      }
+      return query;
+    }
     if (retrieveTokens && request != null && request.getFirstResult() != null) {
       query.setFirstResult(request.getFirstResult());
     }
@@ -312,13 +452,32 @@ public abstract class AbstractRepositoryImpl implements AbstractRepository {
     return query;
   }
 
+  /**
+   * SELECT clause instantiating outputClazz through its constructor, so only the listed columns are
+   * read and no entity (nor its dirty-checking snapshot) ends up in the persistence context.
+   */
+  public <T> StringBuilder getProjectionQuery(Class<?> outputClazz, String entityAlias,
+      Class<T> clazz, String... fields) {
+    return new StringBuilder(" SELECT new " + outputClazz.getName() + "(" + String.join(", ", fields)
+        + ") FROM " + clazz.getSimpleName() + " " + entityAlias + " ");
+  }
+
   public <T> StringBuilder getFromQuery(boolean isCount, boolean retrieveTokens, String entityAlias,
       String idName, Class<T> clazz) {
+    return getFromQuery(isCount, retrieveTokens, entityAlias, idName, clazz, null);
+  }
+
+  // sortName is added to the token projection: PostgreSQL wants ORDER BY columns in a DISTINCT select
+  public <T> StringBuilder getFromQuery(boolean isCount, boolean retrieveTokens, String entityAlias,
+      String idName, Class<T> clazz, String sortName) {
     String selectQuery = "";
     if (isCount) {
       selectQuery = " SELECT COUNT(DISTINCT " + entityAlias + "." + idName + ")";
     } else if (!retrieveTokens) {
       selectQuery = " SELECT DISTINCT " + entityAlias;
+    } else if (sortName != null) {
+      selectQuery =
+          " SELECT DISTINCT " + entityAlias + "." + idName + ", " + entityAlias + "." + sortName;
     } else {
       selectQuery = " SELECT DISTINCT " + entityAlias + "." + idName;
     }
@@ -1,12 +1,17 @@
 package it.prevt.backend.repository.impl;
 
+import it.prevt.backend.bean.PreventiviBean;
+import it.prevt.backend.bean.PreventiviPerStatusBean;
+import it.prevt.backend.bean.PreventiviTrendBean;
+import it.prevt.backend.entity.DashboardSnapshotEntity;
+import it.prevt.backend.entity.DashboardSnapshotStatusEntity;
 import it.prevt.backend.entity.Preventivo;
-import it.prevt.backend.entity.Prospect;
+import it.prevt.backend.entity.PreventivoTrendRollupEntity;
 import it.prevt.backend.repository.DashboardRepository;
-import it.prevt.backend.request.bean.PreventiviRequestBean;
 import jakarta.persistence.TypedQuery;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -15,36 +20,65 @@ import java.util.Map;
 public class DashboardRepositoryImpl extends AbstractRepositoryImpl implements DashboardRepository {
 
     @Override
-    public List<Preventivo> getPreventiviList(PreventiviRequestBean preventiviRequestBean) {
+    public List<PreventiviPerStatusBean> getPreventiviPerStatus() {
+        Class<DashboardSnapshotStatusEntity> clazz = DashboardSnapshotStatusEntity.class;
+
+        StringBuilder strQueryFrom = new StringBuilder(" SELECT new " + PreventiviPerStatusBean.class.getName()
+                + "(s.status, s.preventiviCount, CASE WHEN s.valoriCount > 0 THEN s.valoreTotale ELSE NULL END) FROM "
+                + clazz.getSimpleName() + " s ");
+        StringBuilder strQueryWhere = new StringBuilder(" WHERE s.preventiviCount > 0 ");
+
+        strQueryWhere.append(" ORDER BY s.status ");
+        String strQueryFinal = (strQueryFrom.append(strQueryWhere)).toString();
+        TypedQuery<PreventiviPerStatusBean> query = entityManager.createQuery(strQueryFinal, PreventiviPerStatusBean.class);
+        return getResultList(query);
+    }
+
+    @Override
+    public List<PreventiviBean> getUltimiPreventivi(int limit) {
         Class<Preventivo> clazz = Preventivo.class;
-        Map<String, Object> parameters = new HashMap<>();
 
-        StringBuilder strQueryFrom = new StringBuilder(" SELECT p FROM " + clazz.getSimpleName() + " p ");
+        StringBuilder strQueryFrom = getProjectionQuery(PreventiviBean.class, "p", clazz,
+                PreventiviRepositoryImpl.PREVENTIVI_LIST_FIELDS);
+        strQueryFrom.append(" LEFT JOIN p.prospect pr ");
         StringBuilder strQueryWhere = new StringBuilder(" WHERE 1=1 ");
 
-        if (preventiviRequestBean != null) {
-            if (preventiviRequestBean.getStatiPreventivi() != null && !preventiviRequestBean.getStatiPreventivi().isEmpty()) {
-                createListWhereClause("p", "status", preventiviRequestBean.getStatiPreventivi(), strQueryWhere, parameters);
-            }
-        }
-        // Parameters
+        strQueryWhere.append(" ORDER BY p.createdAt DESC ");
         String strQueryFinal = (strQueryFrom.append(strQueryWhere)).toString();
-        TypedQuery<Preventivo> query = entityManager.createQuery(strQueryFinal, clazz);
-        parameters.forEach(query::setParameter);
+        TypedQuery<PreventiviBean> query = entityManager.createQuery(strQueryFinal, PreventiviBean.class);
+        query.setMaxResults(limit);
         return getResultList(query);
     }
 
     @Override
-    public List<Prospect> getProspectList() {
-        Class<Prospect> clazz = Prospect.class;
+    public DashboardSnapshotEntity getDashboardSnapshot() {
+        return find(DashboardSnapshotEntity.class, DashboardSnapshotEntity.SNAPSHOT_ID);
+    }
+
+    @Override
+    public List<PreventiviTrendBean> getPreventiviTrend(String granularity, LocalDate from, LocalDate to) {
+        Class<PreventivoTrendRollupEntity> clazz = PreventivoTrendRollupEntity.class;
         Map<String, Object> parameters = new HashMap<>();
 
-        StringBuilder strQueryFrom = new StringBuilder(" SELECT p FROM " + clazz.getSimpleName() + " p ");
-        StringBuilder strQueryWhere = new StringBuilder(" WHERE 1=1 ");
+        StringBuilder strQueryFrom = new StringBuilder(" SELECT new " + PreventiviTrendBean.class.getName()
+                + "(r.bucket, r.status, NULLIF(r.tipoProspect, ''), r.preventiviCount, r.valoreTotale) FROM "
+                + clazz.getSimpleName() + " r ");
+        StringBuilder strQueryWhere = new StringBuilder(" WHERE r.preventiviCount > 0 ");
 
         // Parameters
+        strQueryWhere.append(" AND r.granularity = :granularity ");
+        parameters.put("granularity", granularity);
+        if (from != null) {
+            strQueryWhere.append(" AND r.bucket >= :from ");
+            parameters.put("from", from);
+        }
+        if (to != null) {
+            strQueryWhere.append(" AND r.bucket <= :to ");
+            parameters.put("to", to);
+        }
+        strQueryWhere.append(" ORDER BY r.bucket, r.status, r.tipoProspect ");
         String strQueryFinal = (strQueryFrom.append(strQueryWhere)).toString();
-        TypedQuery<Prospect> query = entityManager.createQuery(strQueryFinal, clazz);
+        TypedQuery<PreventiviTrendBean> query = entityManager.createQuery(strQueryFinal, PreventiviTrendBean.class);
         parameters.forEach(query::setParameter);
         return getResultList(query);
     }
@@ -0,0 +1,75 @@
+package it.prevt.backend.repository.impl;
+
+import jakarta.persistence.metamodel.EntityType;
+import org.hibernate.HibernateException;
+
+/**
+ * Everything the generic repository methods need about one entity, resolved once at startup.
+ */
+public class EntityMetadata {
+
+  private static final String QRY_FIND_BY_ID = "FROM %s e WHERE e.%s = :id";
+  private static final String QRY_EXISTS_BY_ID = "SELECT COUNT(e) FROM %s e WHERE e.%s = :id";
+  private static final String QRY_DELETE_BY_ID = "DELETE FROM %s e WHERE e.%s = :id";
+  private static final String QRY_DELETE_BY_IDS = "DELETE FROM %s e WHERE e.%s IN (:ids)";
+
+  private final Class<?> javaType;
+  private final String entityName;
+  // null for entities with a composite id
+  private final String idName;
+
+  private final String findByIdQuery;
+  private final String existsByIdQuery;
+  private final String deleteByIdQuery;
+  private final String deleteByIdsQuery;
+
+  EntityMetadata(EntityType<?> type) {
+    this.javaType = type.getJavaType();
+    this.entityName = type.getName();
+    this.idName =
+        type.hasSingleIdAttribute() ? type.getId(type.getIdType().getJavaType()).getName() : null;
+
+    this.findByIdQuery = idName != null ? String.format(QRY_FIND_BY_ID, entityName, idName) : null;
+    this.existsByIdQuery =
+        idName != null ? String.format(QRY_EXISTS_BY_ID, entityName, idName) : null;
+    this.deleteByIdQuery =
+        idName != null ? String.format(QRY_DELETE_BY_ID, entityName, idName) : null;
+    this.deleteByIdsQuery =
+        idName != null ? String.format(QRY_DELETE_BY_IDS, entityName, idName) : null;
+  }
+
+  public Class<?> getJavaType() {
+    return javaType;
+  }
+
+  public String getEntityName() {
+    return entityName;
+  }
+
+  public String getIdName() {
+    return requireSingleId(idName);
+  }
+
+  public String getFindByIdQuery() {
+    return requireSingleId(findByIdQuery);
+  }
+
+  public String getExistsByIdQuery() {
+    return requireSingleId(existsByIdQuery);
+  }
+
+  public String getDeleteByIdQuery() {
+    return requireSingleId(deleteByIdQuery);
+  }
+
+  public String getDeleteByIdsQuery() {
+    return requireSingleId(deleteByIdsQuery);
+  }
+
+  private String requireSingleId(String value) {
+    if (value == null) {
+      throw new HibernateException("No single @Id field defined for entity " + javaType.getName());
+    }
+    return value;
+  }
+}
@@ -0,0 +1,39 @@
+package it.prevt.backend.repository.impl;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import org.hibernate.HibernateException;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Entity metadata read from the JPA metamodel when the application starts, so the generic
+ * repository methods neither reflect on entity classes nor build HQL on the request path.
+ */
+@Component
+public class EntityMetadataRegistry {
+
+  private final Map<Class<?>, EntityMetadata> metadata;
+
+  public EntityMetadataRegistry(EntityManagerFactory entityManagerFactory) {
+    Map<Class<?>, EntityMetadata> byClass = new HashMap<>();
+    for (EntityType<?> type : entityManagerFactory.getMetamodel().getEntities()) {
+      byClass.put(type.getJavaType(), new EntityMetadata(type));
+    }
+    this.metadata = Map.copyOf(byClass);
+  }
+
+  public boolean isEntity(Class<?> clazz) {
+    return metadata.containsKey(clazz);
+  }
+
+  public EntityMetadata get(Class<?> clazz) {
+    EntityMetadata entityMetadata = metadata.get(clazz);
+    if (entityMetadata == null) {
+      throw new HibernateException("Class " + clazz.getName() + " is not a managed entity");
+    }
+    return entityMetadata;
+  }
+}
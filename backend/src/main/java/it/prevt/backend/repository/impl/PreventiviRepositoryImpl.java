@@ -0,0 +1,170 @@
+package it.prevt.backend.repository.impl;
+
+import it.prevt.backend.bean.PreventiviBean;
+import it.prevt.backend.bean.PricingBean;
+import it.prevt.backend.entity.AltriBeniServiziEntity;
+import it.prevt.backend.entity.Preventivo;
+import it.prevt.backend.entity.PreventivoServiziEntity;
+import it.prevt.backend.pricing.StoredPriceColumn;
+import it.prevt.backend.repository.PreventiviRepository;
+import it.prevt.backend.request.bean.PreventiviRequestBean;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Repository
+public class PreventiviRepositoryImpl extends AbstractRepositoryImpl implements PreventiviRepository {
+
+  // columns read by the PreventiviBean projection constructor; needs "p" joined to "pr" (prospect)
+  static final String[] PREVENTIVI_LIST_FIELDS =
+      {"p.id", "p.titolo", "p.status", "p.totalePreventivo", "p.createdAt", "pr.id",
+          "pr.ragioneSociale", "pr.partitaIva", "pr.codiceFiscale", "pr.indirizzo", "pr.citta",
+          "pr.cap", "pr.provincia", "pr.telefono", "pr.email", "pr.tipo", "pr.createdAt",
+          "pr.updatedAt", "pr.tipoProspect"};
+
+  private static final String UPDATE_PRICES_SQL = "UPDATE preventivo SET "
+      + Arrays.stream(StoredPriceColumn.values()).map(c -> c.getColumn() + " = ?")
+      .collect(Collectors.joining(", "))
+      + ", catalog_version = ? WHERE id = ?";
+
+  @Override
+  public List<PreventiviBean> getPreventiviPage(PreventiviRequestBean request) {
+    Class<Preventivo> clazz = Preventivo.class;
+    Map<String, Object> parameters = new HashMap<>();
+
+    StringBuilder strQueryFrom =
+        getProjectionQuery(PreventiviBean.class, "p", clazz, PREVENTIVI_LIST_FIELDS);
+    strQueryFrom.append(" LEFT JOIN p.prospect pr ");
+    StringBuilder strQueryWhere = new StringBuilder(" WHERE 1=1 ");
+
+    // Parameters
+    if (request.getStatiPreventivi() != null && !request.getStatiPreventivi().isEmpty()) {
+      createListWhereClause("p", "status", request.getStatiPreventivi(), strQueryWhere, parameters);
+    }
+    createKeysetWhereClause("p", "createdAt", "id", request, strQueryWhere, parameters);
+    strQueryWhere.append(createKeysetOrderClause("p", "createdAt", "id"));
+    TypedQuery<PreventiviBean> query =
+        setFinalParameters(true, strQueryFrom, strQueryWhere, parameters, PreventiviBean.class,
+            request);
+    return getResultList(query);
+  }
+
+  @Override
+  public long countPreventivi(List<String> stati) {
+    Map<String, Object> parameters = new HashMap<>();
+    StringBuilder strQueryFrom =
+        new StringBuilder(" SELECT COUNT(p) FROM " + Preventivo.class.getSimpleName() + " p ");
+    StringBuilder strQueryWhere = new StringBuilder(" WHERE 1=1 ");
+    createListWhereClause("p", "status", stati, strQueryWhere, parameters);
+
+    TypedQuery<Long> query =
+        entityManager.createQuery(strQueryFrom.append(strQueryWhere).toString(), Long.class);
+    parameters.forEach(query::setParameter);
+    return getResultSingle(query);
+  }
+
+  @Override
+  public List<Preventivo> getPreventiviAfter(List<String> stati, UUID lastId, int limit) {
+    Class<Preventivo> clazz = Preventivo.class;
+    Map<String, Object> parameters = new HashMap<>();
+    StringBuilder strQueryFrom = new StringBuilder(" SELECT p FROM " + clazz.getSimpleName() + " p ");
+    StringBuilder strQueryWhere = new StringBuilder(" WHERE 1=1 ");
+    createListWhereClause("p", "status", stati, strQueryWhere, parameters);
+    if (lastId != null) {
+      strQueryWhere.append(" AND p.id > :lastId ");
+      parameters.put("lastId", lastId);
+    }
+    strQueryWhere.append(" ORDER BY p.id ");
+
+    TypedQuery<Preventivo> query =
+        entityManager.createQuery(strQueryFrom.append(strQueryWhere).toString(), clazz);
+    parameters.forEach(query::setParameter);
+    query.setMaxResults(limit);
+    return getResultList(query);
+  }
+
+  @Override
+  public Map<UUID, PreventivoServiziEntity> getServiziByPreventivi(List<UUID> preventiviIds) {
+    Class<PreventivoServiziEntity> clazz = PreventivoServiziEntity.class;
+    Map<String, Object> parameters = new HashMap<>();
+    StringBuilder strQueryFrom = new StringBuilder(" SELECT s FROM " + clazz.getSimpleName() + " s ");
+    StringBuilder strQueryWhere = new StringBuilder(" WHERE 1=1 ");
+    createListWhereClause("s", "preventivo.id", preventiviIds, strQueryWhere, parameters);
+
+    TypedQuery<PreventivoServiziEntity> query =
+        entityManager.createQuery(strQueryFrom.append(strQueryWhere).toString(), clazz);
+    parameters.forEach(query::setParameter);
+    Map<UUID, PreventivoServiziEntity> servizi = new HashMap<>();
+    getResultList(query).forEach(s -> servizi.putIfAbsent(s.getPreventivo().getId(), s));
+    return servizi;
+  }
+
+  @Override
+  public Map<UUID, BigDecimal[]> getAltriBeniServiziTotali(List<UUID> preventiviIds) {
+    Map<String, Object> parameters = new HashMap<>();
+    StringBuilder strQueryFrom = new StringBuilder(
+        " SELECT a.preventivo.id, SUM(a.totale), SUM(a.costoUnitario * a.quantita) FROM "
+            + AltriBeniServiziEntity.class.getSimpleName() + " a ");
+    StringBuilder strQueryWhere = new StringBuilder(" WHERE 1=1 ");
+    createListWhereClause("a", "preventivo.id", preventiviIds, strQueryWhere, parameters);
+    strQueryWhere.append(" GROUP BY a.preventivo.id ");
+
+    TypedQuery<Object[]> query =
+        entityManager.createQuery(strQueryFrom.append(strQueryWhere).toString(), Object[].class);
+    parameters.forEach(query::setParameter);
+    Map<UUID, BigDecimal[]> totali = new HashMap<>();
+    for (Object[] row : getResultList(query)) {
+      totali.put((UUID) row[0], new BigDecimal[] {(BigDecimal) row[1], (BigDecimal) row[2]});
+    }
+    return totali;
+  }
+
+  @Override
+  public int updatePrices(Map<UUID, PricingBean> prices) {
+    if (prices.isEmpty()) {
+      return 0;
+    }
+    // the JPA batch goes through dirty checking of whole entities: plain JDBC writes only priced columns
+    StoredPriceColumn[] columns = StoredPriceColumn.values();
+    int[] updated = {0};
+    entityManager.unwrap(Session.class).doWork(connection -> {
+      try (PreparedStatement ps = connection.prepareStatement(UPDATE_PRICES_SQL)) {
+        int pending = 0;
+        for (Map.Entry<UUID, PricingBean> entry : prices.entrySet()) {
+          for (int i = 0; i < columns.length; i++) {
+            ps.setBigDecimal(i + 1, columns[i].valueOf(entry.getValue()));
+          }
+          ps.setObject(columns.length + 1, entry.getValue().getCatalogVersion());
+          ps.setObject(columns.length + 2, entry.getKey());
+          ps.addBatch();
+          if (++pending == jdbcBatchSize) {
+            updated[0] += sum(ps.executeBatch());
+            pending = 0;
+          }
+        }
+        if (pending > 0) {
+          updated[0] += sum(ps.executeBatch());
+        }
+      }
+    });
+    return updated[0];
+  }
+
+  private static int sum(int[] counts) {
+    int total = 0;
+    for (int count : counts) {
+      // SUCCESS_NO_INFO (-2) counts as one row
+      total += count >= 0 ? count : 1;
+    }
+    return total;
+  }
+}
@@ -0,0 +1,52 @@
+package it.prevt.backend.repository.impl;
+
+import it.prevt.backend.entity.CostoRetroilluminazioneEntity;
+import it.prevt.backend.entity.CostoStrutturaDeskLayoutEntity;
+import it.prevt.backend.entity.CostoStrutturaEspositoriLayoutEntity;
+import it.prevt.backend.entity.ListinoAccessoriDeskEntity;
+import it.prevt.backend.entity.ListinoAccessoriEspositoriEntity;
+import it.prevt.backend.entity.ListinoAccessoriStandEntity;
+import it.prevt.backend.entity.ParametroCostoUnitarioEntity;
+import it.prevt.backend.entity.ParametroEntity;
+import it.prevt.backend.pricing.PriceCatalogSnapshot;
+import it.prevt.backend.repository.PriceCatalogRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class PriceCatalogRepositoryImpl extends AbstractRepositoryImpl implements PriceCatalogRepository {
+
+  private static final Map<String, Boolean> ATTIVO = Map.of("attivo", Boolean.TRUE);
+
+  @Override
+  public long getCatalogVersion() {
+    Object version = entityManager
+        .createNativeQuery("SELECT version FROM public.price_catalog_version WHERE id = 1")
+        .getSingleResult();
+    return ((Number) version).longValue();
+  }
+
+  @Override
+  public PriceCatalogSnapshot loadSnapshot() {
+    // version first: a write committed while the rows are read bumps it again and is reloaded later
+    long version = getCatalogVersion();
+    return new PriceCatalogSnapshot(version,
+        getParametri(),
+        findBy(ParametroCostoUnitarioEntity.class, ATTIVO),
+        findBy(ListinoAccessoriStandEntity.class, ATTIVO),
+        findBy(ListinoAccessoriDeskEntity.class, ATTIVO),
+        findBy(ListinoAccessoriEspositoriEntity.class, ATTIVO),
+        findBy(CostoStrutturaDeskLayoutEntity.class, ATTIVO),
+        findBy(CostoStrutturaEspositoriLayoutEntity.class, ATTIVO),
+        findBy(CostoRetroilluminazioneEntity.class, null));
+  }
+
+  // all rows, inactive ones included, in the order the editor reads them
+  private List<ParametroEntity> getParametri() {
+    Class<ParametroEntity> clazz = ParametroEntity.class;
+    String strQuery = " SELECT p FROM " + clazz.getSimpleName() + " p ORDER BY p.tipo, p.ordine ";
+    return getResultList(entityManager.createQuery(strQuery, clazz));
+  }
+}
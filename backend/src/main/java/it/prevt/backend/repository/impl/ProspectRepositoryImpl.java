@@ -3,17 +3,30 @@ package it.prevt.backend.repository.impl;
 import it.prevt.backend.entity.Prospect;
 import it.prevt.backend.entity.User;
 import it.prevt.backend.repository.ProspectRepository;
+import it.prevt.backend.request.bean.ProspectRequestBean;
+import it.prevt.backend.request.bean.ProspectSearchRequestBean;
 import it.prevt.backend.repository.UserRepository;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import org.springframework.stereotype.Repository;
 
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Repository
 public class ProspectRepositoryImpl extends AbstractRepositoryImpl implements ProspectRepository {
 
+  // the date filters are calendar days in Italy, as the trend rollup of V8
+  private static final ZoneId ZONE = ZoneId.of("Europe/Rome");
+
+  private static final String[] SEARCH_COLUMNS = {"ragione_sociale", "partita_iva", "citta", "email"};
+
   @Override
   public List<Prospect> getProspectList() {
     Class<Prospect> clazz = Prospect.class;
@@ -30,4 +43,116 @@ public class ProspectRepositoryImpl extends AbstractRepositoryImpl implements Pr
     parameters.forEach(query::setParameter);
     return getResultList(query);
   }
+
+  /**
+   * Two-phase read: pages over ids (served by the (filter, created_at, id) indexes of V12), then
+   * loads only those prospects, so the work depends on the page size rather than the table size.
+   */
+  @Override
+  public List<Prospect> getProspectPage(ProspectRequestBean request) {
+    List<UUID> tokens = getProspectTokens(request);
+    if (tokens.isEmpty()) {
+      return new ArrayList<>();
+    }
+    return new ArrayList<>(findAllByIds(Prospect.class, tokens).values());
+  }
+
+  @Override
+  public Long countProspects(ProspectRequestBean request) {
+    Class<Prospect> clazz = Prospect.class;
+    Map<String, Object> parameters = new HashMap<>();
+
+    StringBuilder strQueryFrom = getFromQuery(true, false, "u", "id", clazz);
+    StringBuilder strQueryWhere = new StringBuilder(" WHERE 1=1 ");
+
+    // Parameters
+    createProspectWhereClause(request, strQueryWhere, parameters);
+    return getResultSingle(
+        setFinalParameters(false, strQueryFrom, strQueryWhere, parameters, Long.class, request));
+  }
+
+  private List<UUID> getProspectTokens(ProspectRequestBean request) {
+    Class<Prospect> clazz = Prospect.class;
+    Map<String, Object> parameters = new HashMap<>();
+
+    StringBuilder strQueryFrom = getFromQuery(false, true, "u", "id", clazz, "createdAt");
+    StringBuilder strQueryWhere = new StringBuilder(" WHERE 1=1 ");
+
+    // Parameters
+    createProspectWhereClause(request, strQueryWhere, parameters);
+    createKeysetWhereClause("u", "createdAt", "id", request, strQueryWhere, parameters);
+    strQueryWhere.append(createKeysetOrderClause("u", "createdAt", "id"));
+    return setFinalParameters(true, strQueryFrom, strQueryWhere, parameters, Object[].class,
+        request).getResultStream().map(row -> (UUID) row[0]).collect(Collectors.toList());
+  }
+
+  private void createProspectWhereClause(ProspectRequestBean request,
+      StringBuilder strQueryWhere, Map<String, Object> parameters) {
+    if (request.getTipo() != null) {
+      strQueryWhere.append(" AND u.tipo = :tipo ");
+      parameters.put("tipo", request.getTipo());
+    }
+    if (request.getTipoProspect() != null) {
+      strQueryWhere.append(" AND u.tipoProspect = :tipoProspect ");
+      parameters.put("tipoProspect", request.getTipoProspect());
+    }
+    if (request.getProvincia() != null) {
+      strQueryWhere.append(" AND u.provincia = :provincia ");
+      parameters.put("provincia", request.getProvincia());
+    }
+    if (request.getUserId() != null) {
+      strQueryWhere.append(" AND u.user.id = :userId ");
+      parameters.put("userId", request.getUserId());
+    }
+    if (request.getCreatedFrom() != null) {
+      strQueryWhere.append(" AND u.createdAt >= :createdFrom ");
+      parameters.put("createdFrom",
+          request.getCreatedFrom().atStartOfDay(ZONE).toOffsetDateTime());
+    }
+    if (request.getCreatedTo() != null) {
+      strQueryWhere.append(" AND u.createdAt < :createdTo ");
+      parameters.put("createdTo",
+          request.getCreatedTo().plusDays(1).atStartOfDay(ZONE).toOffsetDateTime());
+    }
+  }
+
+  /**
+   * Ranked text search: every predicate is served by the pg_trgm GIN indexes of V11 (substring
+   * ILIKE or word similarity), substring hits rank above fuzzy ones, then by best similarity.
+   */
+  @Override
+  public List<Prospect> searchProspects(ProspectSearchRequestBean request) {
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put("q", request.getQuery());
+    parameters.put("like", "%" + escapeLike(request.getQuery()) + "%");
+
+    String matches = Arrays.stream(SEARCH_COLUMNS)
+        .map(c -> "p." + c + " ILIKE :like OR :q <% p." + c).collect(Collectors.joining(" OR "));
+    String substringRank = Arrays.stream(SEARCH_COLUMNS)
+        .map(c -> "p." + c + " ILIKE :like").collect(Collectors.joining(" OR "));
+    String similarityRank = Arrays.stream(SEARCH_COLUMNS)
+        .map(c -> "word_similarity(:q, COALESCE(p." + c + ", ''))").collect(Collectors.joining(", "));
+
+    StringBuilder strQuery = new StringBuilder(" SELECT p.id FROM public.prospect p ");
+    strQuery.append(" WHERE " + matches);
+    strQuery.append(" ORDER BY CASE WHEN " + substringRank + " THEN 0 ELSE 1 END, ");
+    strQuery.append(" GREATEST(" + similarityRank + ") DESC, p.created_at DESC, p.id DESC ");
+
+    Query query = entityManager.createNativeQuery(strQuery.toString(), UUID.class);
+    parameters.forEach(query::setParameter);
+    if (request.getFirstResult() != null) {
+      query.setFirstResult(request.getFirstResult());
+    }
+    query.setMaxResults(request.getMaxResult());
+    @SuppressWarnings("unchecked")
+    List<UUID> tokens = query.getResultList();
+    if (tokens.isEmpty()) {
+      return new ArrayList<>();
+    }
+    return new ArrayList<>(findAllByIds(Prospect.class, tokens).values());
+  }
+
+  private static String escapeLike(String value) {
+    return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
 }
@@ -5,6 +5,12 @@ public class AbstractSearchRequestBean {
 
 	private Integer maxResult;
 
+	// keyset (seek) paging: firstResult is ignored and the page starts after the cursor
+	private Boolean keyset;
+
+	// opaque nextCursor returned with the previous page
+	private String cursor;
+
 	public Integer getFirstResult() {
 		return firstResult;
 	}
@@ -20,4 +26,24 @@ public class AbstractSearchRequestBean {
 	public void setMaxResult(Integer maxResult) {
 		this.maxResult = maxResult;
 	}
+
+	public Boolean getKeyset() {
+		return keyset;
+	}
+
+	public void setKeyset(Boolean keyset) {
+		this.keyset = keyset;
+	}
+
+	public String getCursor() {
+		return cursor;
+	}
+
+	public void setCursor(String cursor) {
+		this.cursor = cursor;
+	}
+
+	public boolean isKeysetMode() {
+		return Boolean.TRUE.equals(keyset) || cursor != null;
+	}
 }
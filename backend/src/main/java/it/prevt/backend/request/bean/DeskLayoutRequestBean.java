@@ -0,0 +1,19 @@
+package it.prevt.backend.request.bean;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeskLayoutRequestBean {
+
+    // "50", "100", "150" o "200"
+    private String layout;
+
+    private Integer quantity;
+
+}
@@ -0,0 +1,29 @@
+package it.prevt.backend.request.bean;
+
+import it.prevt.backend.pricing.MarginItem;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Setter
+@Getter
+@NoArgsConstructor
+public class MarginSimulationRequestBean {
+
+    // preventivo salvato oppure configurazione non ancora salvata
+    private UUID preventivoId;
+    private PricingRequestBean configuration;
+
+    // valori da provare per ciascuna marginalità: si valutano tutte le combinazioni,
+    // le voci assenti mantengono il margine del preventivo
+    private Map<MarginItem, List<BigDecimal>> grid;
+
+    // in alternativa alla griglia: margine unico che porta il preventivo a questo totale
+    private BigDecimal targetTotalePreventivo;
+
+}
@@ -7,7 +7,7 @@ import java.util.List;
 
 @Setter
 @Getter
-public class PreventiviRequestBean {
+public class PreventiviRequestBean extends AbstractSearchRequestBean {
 
     private List<String> statiPreventivi;
 
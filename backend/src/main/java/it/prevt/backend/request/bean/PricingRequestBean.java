@@ -0,0 +1,95 @@
+package it.prevt.backend.request.bean;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Configurazione di un preventivo da prezzare: gli stessi campi inseriti nell'editor, senza i valori
+ * derivati (superfici, pezzi, costi, totali) che vengono calcolati dal motore prezzi.
+ */
+@Setter
+@Getter
+public class PricingRequestBean {
+
+    // Stand
+    private BigDecimal profondita;
+    private BigDecimal larghezza;
+    private BigDecimal altezza;
+    private String layout;
+    private Integer distribuzione;
+    private BigDecimal bifaccialita;
+    private Boolean premontaggio;
+    // metri di retroilluminazione
+    private BigDecimal retroilluminazione;
+    private BigDecimal extraPercComplex;
+    // id listino_accessori_stand -> quantità
+    private Map<UUID, Integer> accessoriStand;
+
+    // Storage
+    private BigDecimal largStorage;
+    private BigDecimal profStorage;
+    private BigDecimal altStorage;
+    private String layoutStorage;
+    private Integer numeroPorte;
+
+    // Desk
+    private List<DeskLayoutRequestBean> deskLayouts;
+    private Integer portaScorrevole;
+    private Integer ripianoSuperiore;
+    private Integer ripianoInferiore;
+    private Integer tecaPlexiglass;
+    private Integer fronteLuminoso;
+    private Integer borsa;
+
+    // Espositori
+    private Integer qtaTipo30;
+    private Integer qtaTipo50;
+    private Integer qtaTipo100;
+    private Integer ripiano30x30;
+    private Integer ripiano50x50;
+    private Integer ripiano100x50;
+    private Integer tecaPlexiglass30x30x30;
+    private Integer tecaPlexiglass50x50x50;
+    private Integer tecaPlexiglass100x50x30;
+    private Integer retroilluminazione30x30x100h;
+    private Integer retroilluminazione50x50x100h;
+    private Integer retroilluminazione100x50x100h;
+    private Integer borsaEspositori;
+
+    // Servizi (importi di preventivi_servizi)
+    private Boolean servizioMontaggioSmontaggio;
+    private Boolean servizioCertificazioni;
+    private Boolean servizioIstruzioniAssistenza;
+    private BigDecimal preventivoMontaggio;
+    private BigDecimal preventivoSmontaggio;
+    private BigDecimal totaleCostoMontaggio;
+    private BigDecimal totaleCostoSmontaggio;
+
+    // Altri beni/servizi: somma dei totali e dei costi (costo_unitario * quantita)
+    private BigDecimal altriBeniServiziTotale;
+    private BigDecimal altriBeniServiziCosti;
+
+    // Marginalità (%), assenti = 50
+    private BigDecimal marginalitaStruttura;
+    private BigDecimal marginalitaGrafica;
+    private BigDecimal marginalitaRetroilluminazione;
+    private BigDecimal marginalitaAccessori;
+    private BigDecimal marginalitaPremontaggio;
+    private BigDecimal marginalitaStrutturaStorage;
+    private BigDecimal marginalitaGraficaStorage;
+    private BigDecimal marginalitaPremontaggioStorage;
+    private BigDecimal marginalitaStrutturaDesk;
+    private BigDecimal marginalitaGraficaDesk;
+    private BigDecimal marginalitaPremontaggioDesk;
+    private BigDecimal marginalitaAccessoriDesk;
+    private BigDecimal marginalitaStrutturaEspositori;
+    private BigDecimal marginalitaGraficaEspositori;
+    private BigDecimal marginalitaPremontaggioEspositori;
+    private BigDecimal marginalitaAccessoriEspositori;
+
+}
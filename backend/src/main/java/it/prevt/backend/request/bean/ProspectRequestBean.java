@@ -0,0 +1,27 @@
+package it.prevt.backend.request.bean;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Setter
+@Getter
+public class ProspectRequestBean extends AbstractSearchRequestBean {
+
+    private String tipo;
+
+    private String tipoProspect;
+
+    private String provincia;
+
+    // utente proprietario del prospect
+    private UUID userId;
+
+    // intervallo sulla data di creazione, estremi inclusi, in giorni del calendario italiano
+    private LocalDate createdFrom;
+
+    private LocalDate createdTo;
+
+}
@@ -0,0 +1,13 @@
+package it.prevt.backend.request.bean;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class ProspectSearchRequestBean extends AbstractSearchRequestBean {
+
+    // testo libero cercato su ragione sociale, partita IVA, città ed email
+    private String query;
+
+}
@@ -1,10 +1,21 @@
 package it.prevt.backend.service.rest;
 
-import it.prevt.backend.bean.DashboardBean;
+import it.prevt.backend.bean.PreventiviTrendBean;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping(RestServicePath.DASHBOARD)
@@ -12,5 +23,14 @@ import org.springframework.web.bind.annotation.RestController;
 public interface RestServiceDashboard {
 
     @GetMapping("/loadDashboard")
-    DashboardBean loadDashboard();
+    ResponseEntity<byte[]> loadDashboard(WebRequest request, Authentication auth);
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter stream(HttpServletResponse response);
+
+    @GetMapping("/trend")
+    List<PreventiviTrendBean> getTrend(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String granularity);
 }
@@ -6,4 +6,5 @@ public class RestServicePath {
   public static final String DASHBOARD = MAIN + "/dashboard";
   public static final String PROFILE = MAIN + "/profile";
   public static final String PROSPECT = MAIN + "/prospect";
+  public static final String PREVENTIVI = MAIN + "/preventivi";
 }
@@ -0,0 +1,31 @@
+package it.prevt.backend.service.rest;
+
+import it.prevt.backend.bean.MarginSimulationBean;
+import it.prevt.backend.bean.PageBean;
+import it.prevt.backend.bean.PreventiviBean;
+import it.prevt.backend.bean.PricingBean;
+import it.prevt.backend.bean.RepricingJobBean;
+import it.prevt.backend.request.bean.MarginSimulationRequestBean;
+import it.prevt.backend.request.bean.PreventiviRequestBean;
+import it.prevt.backend.request.bean.PricingRequestBean;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(RestServicePath.PREVENTIVI)
+@PreAuthorize("isAuthenticated()")
+public interface RestServicePreventivi {
+
+  @PostMapping("/getPreventiviPage")
+  PageBean<PreventiviBean> getPreventiviPage(@RequestBody PreventiviRequestBean request);
+
+  @PostMapping("/price")
+  PricingBean price(@RequestBody PricingRequestBean request);
+
+  @PostMapping("/simulate")
+  MarginSimulationBean simulateMargins(@RequestBody MarginSimulationRequestBean request);
+
+  @GetMapping("/reprice")
+  RepricingJobBean getRepricingStatus();
+
+}
@@ -1,7 +1,10 @@
 package it.prevt.backend.service.rest;
 
+import it.prevt.backend.bean.PageBean;
 import it.prevt.backend.bean.ProspectBean;
 import it.prevt.backend.bean.UserBean;
+import it.prevt.backend.request.bean.ProspectRequestBean;
+import it.prevt.backend.request.bean.ProspectSearchRequestBean;
 import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,6 +22,12 @@ public interface RestServiceProspect {
   @GetMapping("/getProspectList")
   List<ProspectBean> getProspectList();
 
+  @PostMapping("/getProspectPage")
+  PageBean<ProspectBean> getProspectPage(@RequestBody ProspectRequestBean request);
+
+  @PostMapping("/search")
+  PageBean<ProspectBean> searchProspects(@RequestBody ProspectSearchRequestBean request);
+
   @PostMapping("/saveProspect")
   ProspectBean saveProspect(@RequestBody ProspectBean dto, Authentication authentication);
 
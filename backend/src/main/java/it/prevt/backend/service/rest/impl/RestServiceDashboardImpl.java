@@ -1,11 +1,26 @@
 package it.prevt.backend.service.rest.impl;
 
-import it.prevt.backend.bean.DashboardBean;
+import it.prevt.backend.bean.PreventiviTrendBean;
+import it.prevt.backend.cache.DashboardCache;
 import it.prevt.backend.manager.DashboardManager;
+import it.prevt.backend.manager.DashboardStreamManager;
 import it.prevt.backend.service.rest.RestServiceDashboard;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -13,9 +28,43 @@ import org.springframework.transaction.annotation.Transactional;
 public class RestServiceDashboardImpl implements RestServiceDashboard {
 
     private final DashboardManager manager;
+    private final DashboardStreamManager streamManager;
+    private final JsonMapper jsonMapper;
+    private final DashboardCache cache;
+
+    @Override
+    // a cache hit must not borrow a connection: the manager opens its own transaction on a miss
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<byte[]> loadDashboard(WebRequest request, Authentication auth) {
+        UUID userId = UUID.fromString(auth.getName());
+
+        DashboardCache.Entry entry = cache.get(userId);
+        if (entry == null) {
+            long version = cache.currentVersion();
+            entry = cache.put(userId, version, jsonMapper.writeValueAsBytes(manager.loadDashboard()));
+        }
+        String etag = entry.getEtag();
+
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(entry.getBody());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SseEmitter stream(HttpServletResponse response) {
+        // keep the reverse proxy from buffering the event stream
+        response.setHeader("X-Accel-Buffering", "no");
+        return streamManager.subscribe();
+    }
 
     @Override
-    public DashboardBean loadDashboard() {
-        return manager.loadDashboard();
+    public List<PreventiviTrendBean> getTrend(LocalDate from, LocalDate to, String granularity) {
+        return manager.getTrend(from, to, granularity);
     }
 }
@@ -0,0 +1,48 @@
+package it.prevt.backend.service.rest.impl;
+
+import it.prevt.backend.bean.MarginSimulationBean;
+import it.prevt.backend.bean.PageBean;
+import it.prevt.backend.bean.PreventiviBean;
+import it.prevt.backend.bean.PricingBean;
+import it.prevt.backend.bean.RepricingJobBean;
+import it.prevt.backend.manager.PreventiviManager;
+import it.prevt.backend.manager.PricingManager;
+import it.prevt.backend.manager.RepricingManager;
+import it.prevt.backend.request.bean.MarginSimulationRequestBean;
+import it.prevt.backend.request.bean.PreventiviRequestBean;
+import it.prevt.backend.request.bean.PricingRequestBean;
+import it.prevt.backend.service.rest.RestServicePreventivi;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class RestServicePreventiviImpl implements RestServicePreventivi {
+
+  private final PreventiviManager manager;
+  private final PricingManager pricingManager;
+  private final RepricingManager repricingManager;
+
+  @Override
+  public PageBean<PreventiviBean> getPreventiviPage(PreventiviRequestBean request) {
+    return manager.getPreventiviPage(request);
+  }
+
+  @Override
+  public PricingBean price(PricingRequestBean request) {
+    return pricingManager.price(request);
+  }
+
+  @Override
+  public MarginSimulationBean simulateMargins(MarginSimulationRequestBean request) {
+    return pricingManager.simulateMargins(request);
+  }
+
+  @Override
+  public RepricingJobBean getRepricingStatus() {
+    return repricingManager.getRepricingStatus();
+  }
+
+}
@@ -1,9 +1,12 @@
 package it.prevt.backend.service.rest.impl;
 
+import it.prevt.backend.bean.PageBean;
 import it.prevt.backend.bean.ProspectBean;
 import it.prevt.backend.bean.UserBean;
 import it.prevt.backend.entity.Prospect;
 import it.prevt.backend.manager.ProspectManager;
+import it.prevt.backend.request.bean.ProspectRequestBean;
+import it.prevt.backend.request.bean.ProspectSearchRequestBean;
 import it.prevt.backend.manager.UserManager;
 import it.prevt.backend.service.rest.RestServiceProfile;
 import it.prevt.backend.service.rest.RestServiceProspect;
@@ -29,6 +32,16 @@ public class RestServiceProspectImpl implements RestServiceProspect {
     return manager.getProspectList();
   }
 
+  @Override
+  public PageBean<ProspectBean> getProspectPage(ProspectRequestBean request) {
+    return manager.getProspectPage(request);
+  }
+
+  @Override
+  public PageBean<ProspectBean> searchProspects(ProspectSearchRequestBean request) {
+    return manager.searchProspects(request);
+  }
+
   @Override
   public ProspectBean saveProspect(ProspectBean dto, Authentication authentication) {
     return manager.saveProspect(dto, authentication);
@@ -6,9 +6,6 @@ import org.springframework.stereotype.Component;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.Month;
-import java.time.Year;
-import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
@@ -204,29 +201,8 @@ public class CalcUtility {
     }
 
     public BigDecimal estimateDaysInAYearBasedOnDateRange(@NotNull LocalDate fromDate, @NotNull LocalDate toDate) {
-        BigDecimal daysInAYear = BigDecimal.valueOf(365);
         // (start AND end is the same leap year ) OR (29 Feb is between dates)
-        if (fromDate.getYear() == toDate.getYear() && Year.of(fromDate.getYear()).isLeap()) {
-            return daysInAYear.add(BigDecimal.ONE);
-        }
-        if (((fromDate.isBefore(toDate) || fromDate.isEqual(toDate)) && (this.is29FebBetweenDates(fromDate, toDate)))
-                || ((fromDate.isAfter(toDate)) && (this.is29FebBetweenDates(toDate, fromDate)))) {
-            return daysInAYear.add(BigDecimal.ONE);
-        }
-        return daysInAYear;
-    }
-
-    private boolean is29FebBetweenDates(@NotNull LocalDate fromDate, @NotNull LocalDate toDate) {
-        for (LocalDate date = fromDate; date.isBefore(toDate); date = date.plusDays(1)) {
-            if (is29Feb(date)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private boolean is29Feb(@NotNull LocalDate date) {
-        return date.getMonth() == Month.FEBRUARY && date.getDayOfMonth() == 29;
+        return CalendarUtils.daysInYear(fromDate, toDate);
     }
 
     private BigDecimal interestBasedOnDays(BigDecimal interestPercentage, BigDecimal daysFraction) {
@@ -235,9 +211,7 @@ public class CalcUtility {
     }
 
     public BigDecimal daysFraction(@NotNull LocalDate fromDate, @NotNull LocalDate toDate) {
-        BigDecimal days = new BigDecimal(ChronoUnit.DAYS.between(fromDate, toDate));
-        BigDecimal daysInAYear = this.estimateDaysInAYearBasedOnDateRange(fromDate, toDate);
-        return this.divide(days, daysInAYear);
+        return CalendarUtils.daysFraction(fromDate, toDate);
     }
 
     public BigDecimal perc(BigDecimal percentage) {
@@ -0,0 +1,101 @@
+package it.prevt.backend.utility;
+
+import jakarta.validation.constraints.NotNull;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Calendar math behind CalcUtility.daysFraction and interestBasedOnDates. Leap days are counted with
+ * the Gregorian rule instead of walking the range, so a ten-year range costs as much as a single day.
+ */
+@Component
+public class CalendarUtils {
+
+	private static final BigDecimal DAYS_IN_YEAR = BigDecimal.valueOf(365);
+
+	private static final BigDecimal DAYS_IN_LEAP_YEAR = BigDecimal.valueOf(366);
+
+	// day of year of 29 February
+	private static final int LEAP_DAY_OF_YEAR = 60;
+
+	/**
+	 * Number of 29 February falling in [fromDate, toDate), dates in either order.
+	 */
+	public static long leapDaysBetween(@NotNull LocalDate fromDate, @NotNull LocalDate toDate) {
+		return Math.abs(leapDaysBefore(toDate) - leapDaysBefore(fromDate));
+	}
+
+	public static boolean isLeapDayBetween(@NotNull LocalDate fromDate, @NotNull LocalDate toDate) {
+		return leapDaysBetween(fromDate, toDate) > 0;
+	}
+
+	/**
+	 * 366 when both dates are in the same leap year or a 29 February falls in the range, 365 otherwise.
+	 */
+	public static BigDecimal daysInYear(@NotNull LocalDate fromDate, @NotNull LocalDate toDate) {
+		return daysInYear(fromDate, toDate, leapDaysBetween(fromDate, toDate));
+	}
+
+	public static BigDecimal daysFraction(@NotNull LocalDate fromDate, @NotNull LocalDate toDate) {
+		return daysFraction(fromDate, toDate, leapDaysBetween(fromDate, toDate));
+	}
+
+	/**
+	 * Day fraction of every range, in order. Contiguous ranges, as in a payment schedule, share the
+	 * leap-day count of their common date.
+	 */
+	public static List<BigDecimal> daysFractions(List<DateRange> ranges) {
+		List<BigDecimal> fractions = new ArrayList<>(CollectionUtils.nullToEmpty(ranges).size());
+		LocalDate previousDate = null;
+		long previousLeapDays = 0;
+		for (DateRange range : CollectionUtils.nullToEmpty(ranges)) {
+			long fromLeapDays = range.fromDate().equals(previousDate) ? previousLeapDays : leapDaysBefore(range.fromDate());
+			long toLeapDays = leapDaysBefore(range.toDate());
+			fractions.add(daysFraction(range.fromDate(), range.toDate(), Math.abs(toLeapDays - fromLeapDays)));
+			previousDate = range.toDate();
+			previousLeapDays = toLeapDays;
+		}
+		return fractions;
+	}
+
+	/**
+	 * Interest of every range at {@code interestPercentage} per year, in order, as
+	 * CalcUtility.interestBasedOnDates computes it for a single range.
+	 */
+	public static List<BigDecimal> interests(BigDecimal interestPercentage, List<DateRange> ranges) {
+		BigDecimal rate = NumberUtils.divide(interestPercentage, NumberUtils.ONE_HUNDRED);
+		List<BigDecimal> interests = daysFractions(ranges);
+		interests.replaceAll(fraction -> fraction.multiply(rate));
+		return interests;
+	}
+
+	// 29 February strictly before date since the start of the calendar; only differences are meaningful
+	private static long leapDaysBefore(LocalDate date) {
+		long previousYear = date.getYear() - 1L;
+		long leapDays = Math.floorDiv(previousYear, 4) - Math.floorDiv(previousYear, 100)
+				+ Math.floorDiv(previousYear, 400);
+		if (date.isLeapYear() && date.getDayOfYear() > LEAP_DAY_OF_YEAR) {
+			leapDays++;
+		}
+		return leapDays;
+	}
+
+	private static BigDecimal daysInYear(LocalDate fromDate, LocalDate toDate, long leapDays) {
+		if (fromDate.getYear() == toDate.getYear() && Year.isLeap(fromDate.getYear())) {
+			return DAYS_IN_LEAP_YEAR;
+		}
+		return leapDays > 0 ? DAYS_IN_LEAP_YEAR : DAYS_IN_YEAR;
+	}
+
+	private static BigDecimal daysFraction(LocalDate fromDate, LocalDate toDate, long leapDays) {
+		BigDecimal days = BigDecimal.valueOf(ChronoUnit.DAYS.between(fromDate, toDate));
+		return days.divide(daysInYear(fromDate, toDate, leapDays), CalcUtility.DIVISION_PRECISION, RoundingMode.HALF_UP);
+	}
+}
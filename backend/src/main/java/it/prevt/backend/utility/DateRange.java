@@ -0,0 +1,11 @@
+package it.prevt.backend.utility;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+/**
+ * A period between two dates, e.g. one installment of a payment schedule; the end date is excluded.
+ */
+public record DateRange(@NotNull LocalDate fromDate, @NotNull LocalDate toDate) {
+}
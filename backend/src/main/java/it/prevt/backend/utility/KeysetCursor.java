@@ -0,0 +1,58 @@
+package it.prevt.backend.utility;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last row of a keyset page, as (sort value, id). Clients only see the encoded
+ * form, so the layout can change without breaking the API.
+ */
+public class KeysetCursor {
+
+	private static final String SEPARATOR = "|";
+
+	private final OffsetDateTime sortValue;
+
+	private final UUID id;
+
+	public KeysetCursor(OffsetDateTime sortValue, UUID id) {
+		this.sortValue = sortValue;
+		this.id = id;
+	}
+
+	public OffsetDateTime getSortValue() {
+		return sortValue;
+	}
+
+	public UUID getId() {
+		return id;
+	}
+
+	public String encode() {
+		String raw = sortValue.toInstant() + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static KeysetCursor decode(String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return null;
+		}
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int separator = raw.indexOf(SEPARATOR);
+			return new KeysetCursor(
+					OffsetDateTime.ofInstant(Instant.parse(raw.substring(0, separator)), ZoneOffset.UTC),
+					UUID.fromString(raw.substring(separator + 1)));
+		} catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "error.cursor.invalid");
+		}
+	}
+}
@@ -0,0 +1,198 @@
+package it.prevt.backend.utility;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable fixed-point amount with {@link CalcUtility#CURRENCY_PRECISION} decimals, held in a long.
+ * Results are rounded HALF_UP to the same scale, as {@code CalcUtility.roundNdecimal(..., 4)} does
+ * on the exact BigDecimal result, so both paths give identical values. Every operation is checked:
+ * a result that does not fit throws {@link ArithmeticException} instead of wrapping.
+ * Convert with {@link #of(BigDecimal)} / {@link #toBigDecimal()} where values enter or leave an entity.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final int SCALE = CalcUtility.CURRENCY_PRECISION;
+
+    static final long ONE = 10_000L;
+
+    public static final Money ZERO = new Money(0L);
+
+    private final long unscaled;
+
+    private Money(long unscaled) {
+        this.unscaled = unscaled;
+    }
+
+    public static Money ofUnscaled(long unscaled) {
+        return unscaled == 0L ? ZERO : new Money(unscaled);
+    }
+
+    public static Money of(long units) {
+        return ofUnscaled(Math.multiplyExact(units, ONE));
+    }
+
+    // null is zero, as in CalcUtility.mapToBigDecimal
+    public static Money of(BigDecimal value) {
+        if (value == null) {
+            return ZERO;
+        }
+        return ofUnscaled(value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * A value held at a finer {@code scale}, e.g. a sum of cost * rate products, rounded HALF_UP once
+     * to {@code decimals} (at most {@link #SCALE}).
+     */
+    public static Money ofScaled(long value, int scale, int decimals) {
+        if (decimals < 0 || decimals > SCALE || scale < decimals) {
+            throw new IllegalArgumentException("cannot round scale " + scale + " to " + decimals + " decimals");
+        }
+        long rounded = divideHalfUp(value, pow10(scale - decimals));
+        return ofUnscaled(Math.multiplyExact(rounded, pow10(SCALE - decimals)));
+    }
+
+    public static Money ofScaled(long value, int scale) {
+        return ofScaled(value, scale, SCALE);
+    }
+
+    public static Money sum(Money... values) {
+        long total = 0L;
+        for (Money value : values) {
+            if (value != null) {
+                total = Math.addExact(total, value.unscaled);
+            }
+        }
+        return ofUnscaled(total);
+    }
+
+    public long unscaled() {
+        return unscaled;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(unscaled, SCALE);
+    }
+
+    public Money plus(Money other) {
+        return other == null ? this : ofUnscaled(Math.addExact(unscaled, other.unscaled));
+    }
+
+    public Money minus(Money other) {
+        return other == null ? this : ofUnscaled(Math.subtractExact(unscaled, other.unscaled));
+    }
+
+    public Money negate() {
+        return ofUnscaled(Math.negateExact(unscaled));
+    }
+
+    public Money multiply(long factor) {
+        return ofUnscaled(Math.multiplyExact(unscaled, factor));
+    }
+
+    /**
+     * Product with a factor at the same scale, e.g. a surface in square metres times a cost per square metre.
+     */
+    public Money multiply(Money factor) {
+        return ofUnscaled(multiplyAndDivide(unscaled, factor.unscaled, ONE));
+    }
+
+    // value * rate / 100
+    public Money multiply(Rate rate) {
+        return ofUnscaled(multiplyAndDivide(unscaled, rate.unscaled(), Rate.HUNDRED_UNSCALED));
+    }
+
+    // value * (1 + rate / 100): a cost with its margin
+    public Money withRate(Rate rate) {
+        return plus(multiply(rate));
+    }
+
+    public Money divide(long divisor) {
+        if (divisor == 0L) {
+            return ZERO;
+        }
+        return ofUnscaled(divideHalfUp(unscaled, divisor));
+    }
+
+    /**
+     * This amount as a percentage of {@code total}; null when the total is zero, as
+     * {@code CalcUtility.calculatePercentage}.
+     */
+    public Rate percentageOf(Money total) {
+        if (total == null || total.unscaled == 0L) {
+            return null;
+        }
+        return Rate.ofUnscaled(multiplyAndDivide(unscaled, Rate.HUNDRED_UNSCALED, total.unscaled));
+    }
+
+    public Money round(int decimals) {
+        return ofScaled(unscaled, SCALE, decimals);
+    }
+
+    public Money round2Decimal() {
+        return round(2);
+    }
+
+    public int signum() {
+        return Long.signum(unscaled);
+    }
+
+    public boolean isZero() {
+        return unscaled == 0L;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(unscaled, other.unscaled);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && other.unscaled == unscaled;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(unscaled);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    public static long pow10(int exponent) {
+        if (exponent < 0 || exponent > 18) {
+            throw new ArithmeticException("10^" + exponent + " does not fit a long");
+        }
+        long value = 1L;
+        for (int i = 0; i < exponent; i++) {
+            value *= 10L;
+        }
+        return value;
+    }
+
+    // a * b / divisor rounded HALF_UP; exact on long when the product fits, otherwise through BigDecimal
+    static long multiplyAndDivide(long a, long b, long divisor) {
+        long high = Math.multiplyHigh(a, b);
+        long low = a * b;
+        if ((high == 0L && low >= 0L) || (high == -1L && low < 0L)) {
+            return divideHalfUp(low, divisor);
+        }
+        return BigDecimal.valueOf(a).multiply(BigDecimal.valueOf(b))
+                .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    // dividend / divisor rounded HALF_UP (away from zero on ties)
+    static long divideHalfUp(long dividend, long divisor) {
+        if (divisor < 0L) {
+            return divideHalfUp(Math.negateExact(dividend), Math.negateExact(divisor));
+        }
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (Math.abs(remainder) >= divisor - Math.abs(remainder)) {
+            quotient += dividend < 0L ? -1L : 1L;
+        }
+        return quotient;
+    }
+}
@@ -0,0 +1,37 @@
+package it.prevt.backend.utility;
+
+import it.prevt.backend.bean.PageBean;
+import it.prevt.backend.request.bean.AbstractSearchRequestBean;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class PagingUtils {
+
+	public static final int DEFAULT_PAGE_SIZE = 50;
+
+	public static final int MAX_PAGE_SIZE = 500;
+
+	public static <R extends AbstractSearchRequestBean> R normalize(R request) {
+		if (request.getMaxResult() == null || request.getMaxResult() <= 0 || request.getMaxResult() > MAX_PAGE_SIZE) {
+			request.setMaxResult(DEFAULT_PAGE_SIZE);
+		}
+		return request;
+	}
+
+	/**
+	 * Builds a page from rows read with {@code setFinalParameters}: in keyset mode the query returns
+	 * one row more than requested, which is dropped here and turned into the next cursor.
+	 */
+	public static <E, B> PageBean<B> toPage(List<E> rows, AbstractSearchRequestBean request,
+			Function<E, KeysetCursor> cursorOf, Function<List<E>, List<B>> mapper) {
+		PageBean<B> page = new PageBean<>();
+		List<E> pageRows = rows;
+		if (request.isKeysetMode() && request.getMaxResult() != null && rows.size() > request.getMaxResult()) {
+			pageRows = rows.subList(0, request.getMaxResult());
+			page.setNextCursor(cursorOf.apply(pageRows.get(pageRows.size() - 1)).encode());
+		}
+		page.setItems(mapper.apply(pageRows));
+		return page;
+	}
+}
@@ -0,0 +1,84 @@
+package it.prevt.backend.utility;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable percentage (50 means 50%) with the same fixed-point scale as {@link Money}, held in a long.
+ * Used for the marginalita_* values and other percentages applied to amounts.
+ */
+public final class Rate implements Comparable<Rate> {
+
+    public static final int SCALE = Money.SCALE;
+
+    static final long ONE = Money.ONE;
+
+    static final long HUNDRED_UNSCALED = 100L * ONE;
+
+    public static final Rate ZERO = new Rate(0L);
+
+    public static final Rate HUNDRED = new Rate(HUNDRED_UNSCALED);
+
+    private final long unscaled;
+
+    private Rate(long unscaled) {
+        this.unscaled = unscaled;
+    }
+
+    public static Rate ofUnscaled(long unscaled) {
+        return unscaled == 0L ? ZERO : new Rate(unscaled);
+    }
+
+    // null is zero, as in CalcUtility.perc
+    public static Rate of(BigDecimal percentage) {
+        if (percentage == null) {
+            return ZERO;
+        }
+        return ofUnscaled(percentage.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    public long unscaled() {
+        return unscaled;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(unscaled, SCALE);
+    }
+
+    public Rate plus(Rate other) {
+        return other == null ? this : ofUnscaled(Math.addExact(unscaled, other.unscaled));
+    }
+
+    public Rate minus(Rate other) {
+        return other == null ? this : ofUnscaled(Math.subtractExact(unscaled, other.unscaled));
+    }
+
+    // 100% - this, as CalcUtility.percRemainder
+    public Rate remainder() {
+        return ofUnscaled(Math.subtractExact(HUNDRED_UNSCALED, unscaled));
+    }
+
+    public int signum() {
+        return Long.signum(unscaled);
+    }
+
+    @Override
+    public int compareTo(Rate other) {
+        return Long.compare(unscaled, other.unscaled);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Rate other && other.unscaled == unscaled;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(unscaled);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + "%";
+    }
+}
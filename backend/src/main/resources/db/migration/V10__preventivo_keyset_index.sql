@@ -0,0 +1,4 @@
+-- Indice per la paginazione keyset dei preventivi su (created_at, id)
+
+DROP INDEX IF EXISTS public.idx_preventivo_created_at;
+CREATE INDEX IF NOT EXISTS idx_preventivo_created_at_id ON public.preventivo(created_at DESC, id DESC);
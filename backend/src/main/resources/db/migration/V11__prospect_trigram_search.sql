@@ -0,0 +1,8 @@
+-- Ricerca testuale sui prospect: indici trigram per ILIKE '%...%' e similarità (errori di battitura)
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_prospect_ragione_sociale_trgm ON public.prospect USING gin (ragione_sociale gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_prospect_partita_iva_trgm ON public.prospect USING gin (partita_iva gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_prospect_citta_trgm ON public.prospect USING gin (citta gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_prospect_email_trgm ON public.prospect USING gin (email gin_trgm_ops);
@@ -0,0 +1,6 @@
+-- Indici compositi per i filtri della lista prospect: filtro in testa, poi l'ordinamento keyset (created_at, id)
+
+CREATE INDEX IF NOT EXISTS idx_prospect_user_created_at_id ON public.prospect(user_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_prospect_tipo_created_at_id ON public.prospect(tipo, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_prospect_tipo_prospect_created_at_id ON public.prospect(tipo_prospect, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_prospect_provincia_created_at_id ON public.prospect(provincia, created_at DESC, id DESC);
@@ -0,0 +1,37 @@
+-- Versione del listino prezzi, incrementata da ogni scrittura sulle tabelle lette dal motore di prezzo
+-- (anche quelle fatte fuori dal backend): il backend confronta la versione per ricaricare il listino
+
+CREATE TABLE IF NOT EXISTS public.price_catalog_version (
+  id integer NOT NULL CHECK (id = 1),
+  version bigint NOT NULL DEFAULT 1,
+  updated_at timestamptz NOT NULL DEFAULT now(),
+  CONSTRAINT price_catalog_version_pkey PRIMARY KEY (id)
+);
+
+INSERT INTO public.price_catalog_version (id) VALUES (1) ON CONFLICT (id) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION public.price_catalog_version_trg()
+RETURNS trigger AS $$
+BEGIN
+  UPDATE public.price_catalog_version SET version = version + 1, updated_at = now() WHERE id = 1;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- un solo incremento per statement, anche per le modifiche massive
+DO $$
+DECLARE
+  t text;
+BEGIN
+  FOREACH t IN ARRAY ARRAY['parametri', 'parametri_a_costi_unitari', 'listino_accessori_stand',
+      'listino_accessori_desk', 'listino_accessori_espositori', 'costi_struttura_desk_layout',
+      'costi_struttura_espositori_layout', 'costi_retroilluminazione'] LOOP
+    EXECUTE format('CREATE TRIGGER trg_%s_price_catalog_version
+      AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON public.%I
+      FOR EACH STATEMENT EXECUTE FUNCTION public.price_catalog_version_trg()', t, t);
+  END LOOP;
+END;
+$$;
+
+-- versione del listino con cui sono stati calcolati i prezzi salvati del preventivo
+ALTER TABLE public.preventivo ADD COLUMN IF NOT EXISTS catalog_version bigint;
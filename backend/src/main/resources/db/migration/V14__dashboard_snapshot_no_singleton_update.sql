@@ -0,0 +1,21 @@
+-- Le scritture sui preventivi non toccano più la riga singola di dashboard_snapshot:
+-- l'UPDATE a ogni riga la trasformava in un lock globale che serializzava tutte le scritture
+-- concorrenti sui preventivi. dashboard_snapshot cambia solo quando cambia prospects_count.
+
+CREATE OR REPLACE FUNCTION public.dashboard_snapshot_apply(p_status text, p_delta bigint, p_totale numeric)
+RETURNS void AS $$
+BEGIN
+  INSERT INTO public.dashboard_snapshot_status AS s (status, preventivi_count, valori_count, valore_totale)
+  VALUES (p_status,
+          p_delta,
+          CASE WHEN p_totale IS NULL THEN 0 ELSE p_delta END,
+          COALESCE(p_totale, 0) * p_delta)
+  ON CONFLICT (status) DO UPDATE
+    SET preventivi_count = s.preventivi_count + EXCLUDED.preventivi_count,
+        valori_count = s.valori_count + EXCLUDED.valori_count,
+        valore_totale = s.valore_totale + EXCLUDED.valore_totale;
+END;
+$$ LANGUAGE plpgsql;
+
+-- rebuild_dashboard_snapshot() e rebuild_preventivo_trend() restano disponibili per la manutenzione
+-- (prendono un lock SHARE su preventivo e prospect): non sono più esposti dall'API.
@@ -0,0 +1,20 @@
+-- Segnale di modifica per lo stream della dashboard: ogni statement su preventivo e prospect,
+-- da qualunque client arrivi (backend o frontend via Supabase), invia una NOTIFY sul canale
+-- dashboard_changed. Le notifiche sono consegnate al commit e quelle uguali nella stessa
+-- transazione vengono unite.
+
+CREATE OR REPLACE FUNCTION public.dashboard_changed_notify_trg()
+RETURNS trigger AS $$
+BEGIN
+  PERFORM pg_notify('dashboard_changed', TG_TABLE_NAME);
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_preventivo_dashboard_changed
+  AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON public.preventivo
+  FOR EACH STATEMENT EXECUTE FUNCTION public.dashboard_changed_notify_trg();
+
+CREATE TRIGGER trg_prospect_dashboard_changed
+  AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON public.prospect
+  FOR EACH STATEMENT EXECUTE FUNCTION public.dashboard_changed_notify_trg();
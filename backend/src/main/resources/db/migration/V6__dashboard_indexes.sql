@@ -0,0 +1,4 @@
+-- Indici a supporto delle aggregazioni della dashboard
+
+CREATE INDEX IF NOT EXISTS idx_preventivo_created_at ON public.preventivo(created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_preventivo_status_totale ON public.preventivo(status) INCLUDE (totale_preventivo);
@@ -0,0 +1,95 @@
+-- Read model della dashboard, mantenuto dai trigger su preventivo e prospect
+
+CREATE TABLE IF NOT EXISTS public.dashboard_snapshot (
+  id integer NOT NULL CHECK (id = 1),
+  prospects_count bigint NOT NULL DEFAULT 0,
+  updated_at timestamptz NOT NULL DEFAULT now(),
+  CONSTRAINT dashboard_snapshot_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS public.dashboard_snapshot_status (
+  status text NOT NULL,
+  preventivi_count bigint NOT NULL DEFAULT 0,
+  -- numero di preventivi con totale_preventivo valorizzato
+  valori_count bigint NOT NULL DEFAULT 0,
+  valore_totale numeric NOT NULL DEFAULT 0,
+  CONSTRAINT dashboard_snapshot_status_pkey PRIMARY KEY (status)
+);
+
+CREATE OR REPLACE FUNCTION public.dashboard_snapshot_apply(p_status text, p_delta bigint, p_totale numeric)
+RETURNS void AS $$
+BEGIN
+  INSERT INTO public.dashboard_snapshot_status AS s (status, preventivi_count, valori_count, valore_totale)
+  VALUES (p_status,
+          p_delta,
+          CASE WHEN p_totale IS NULL THEN 0 ELSE p_delta END,
+          COALESCE(p_totale, 0) * p_delta)
+  ON CONFLICT (status) DO UPDATE
+    SET preventivi_count = s.preventivi_count + EXCLUDED.preventivi_count,
+        valori_count = s.valori_count + EXCLUDED.valori_count,
+        valore_totale = s.valore_totale + EXCLUDED.valore_totale;
+
+  UPDATE public.dashboard_snapshot SET updated_at = now() WHERE id = 1;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION public.dashboard_snapshot_preventivo_trg()
+RETURNS trigger AS $$
+BEGIN
+  IF TG_OP IN ('UPDATE', 'DELETE') THEN
+    PERFORM public.dashboard_snapshot_apply(OLD.status, -1, OLD.totale_preventivo);
+  END IF;
+  IF TG_OP IN ('INSERT', 'UPDATE') THEN
+    PERFORM public.dashboard_snapshot_apply(NEW.status, 1, NEW.totale_preventivo);
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION public.dashboard_snapshot_prospect_trg()
+RETURNS trigger AS $$
+BEGIN
+  UPDATE public.dashboard_snapshot
+     SET prospects_count = prospects_count + CASE WHEN TG_OP = 'INSERT' THEN 1 ELSE -1 END,
+         updated_at = now()
+   WHERE id = 1;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Ricostruzione completa, da usare per riparare il read model
+CREATE OR REPLACE FUNCTION public.rebuild_dashboard_snapshot()
+RETURNS void AS $$
+BEGIN
+  LOCK TABLE public.preventivo, public.prospect IN SHARE MODE;
+
+  DELETE FROM public.dashboard_snapshot_status;
+  INSERT INTO public.dashboard_snapshot_status (status, preventivi_count, valori_count, valore_totale)
+  SELECT status, COUNT(*), COUNT(totale_preventivo), COALESCE(SUM(totale_preventivo), 0)
+    FROM public.preventivo
+   GROUP BY status;
+
+  INSERT INTO public.dashboard_snapshot (id, prospects_count, updated_at)
+  SELECT 1, COUNT(*), now() FROM public.prospect
+  ON CONFLICT (id) DO UPDATE
+    SET prospects_count = EXCLUDED.prospects_count,
+        updated_at = EXCLUDED.updated_at;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_preventivo_dashboard_snapshot_ins_del
+  AFTER INSERT OR DELETE ON public.preventivo
+  FOR EACH ROW EXECUTE FUNCTION public.dashboard_snapshot_preventivo_trg();
+
+CREATE TRIGGER trg_preventivo_dashboard_snapshot_upd
+  AFTER UPDATE OF status, totale_preventivo ON public.preventivo
+  FOR EACH ROW
+  WHEN (OLD.status IS DISTINCT FROM NEW.status
+        OR OLD.totale_preventivo IS DISTINCT FROM NEW.totale_preventivo)
+  EXECUTE FUNCTION public.dashboard_snapshot_preventivo_trg();
+
+CREATE TRIGGER trg_prospect_dashboard_snapshot
+  AFTER INSERT OR DELETE ON public.prospect
+  FOR EACH ROW EXECUTE FUNCTION public.dashboard_snapshot_prospect_trg();
+
+SELECT public.rebuild_dashboard_snapshot();
@@ -0,0 +1,109 @@
+-- Rollup settimanali e mensili dei preventivi per stato e tipo prospect, mantenuti dai trigger
+
+CREATE TABLE IF NOT EXISTS public.preventivo_trend_rollup (
+  granularity text NOT NULL CHECK (granularity = ANY (ARRAY['week','month'])),
+  bucket date NOT NULL,
+  status text NOT NULL,
+  -- '' per i preventivi senza prospect
+  tipo_prospect text NOT NULL,
+  preventivi_count bigint NOT NULL DEFAULT 0,
+  valore_totale numeric NOT NULL DEFAULT 0,
+  CONSTRAINT preventivo_trend_rollup_pkey PRIMARY KEY (granularity, bucket, status, tipo_prospect)
+);
+
+CREATE OR REPLACE FUNCTION public.preventivo_trend_apply(p_created_at timestamptz, p_status text,
+                                                         p_tipo_prospect text, p_delta bigint,
+                                                         p_totale numeric)
+RETURNS void AS $$
+DECLARE
+  g text;
+BEGIN
+  FOREACH g IN ARRAY ARRAY['week', 'month'] LOOP
+    INSERT INTO public.preventivo_trend_rollup AS r
+      (granularity, bucket, status, tipo_prospect, preventivi_count, valore_totale)
+    VALUES (g,
+            date_trunc(g, p_created_at AT TIME ZONE 'Europe/Rome')::date,
+            p_status,
+            COALESCE(p_tipo_prospect, ''),
+            p_delta,
+            COALESCE(p_totale, 0) * p_delta)
+    ON CONFLICT (granularity, bucket, status, tipo_prospect) DO UPDATE
+      SET preventivi_count = r.preventivi_count + EXCLUDED.preventivi_count,
+          valore_totale = r.valore_totale + EXCLUDED.valore_totale;
+  END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION public.preventivo_trend_preventivo_trg()
+RETURNS trigger AS $$
+BEGIN
+  IF TG_OP IN ('UPDATE', 'DELETE') THEN
+    PERFORM public.preventivo_trend_apply(OLD.created_at, OLD.status,
+      (SELECT tipo_prospect FROM public.prospect WHERE id = OLD.prospect_id), -1, OLD.totale_preventivo);
+  END IF;
+  IF TG_OP IN ('INSERT', 'UPDATE') THEN
+    PERFORM public.preventivo_trend_apply(NEW.created_at, NEW.status,
+      (SELECT tipo_prospect FROM public.prospect WHERE id = NEW.prospect_id), 1, NEW.totale_preventivo);
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Un cambio di tipo_prospect sposta i preventivi del prospect nel nuovo gruppo
+CREATE OR REPLACE FUNCTION public.preventivo_trend_prospect_trg()
+RETURNS trigger AS $$
+DECLARE
+  p record;
+BEGIN
+  FOR p IN SELECT created_at, status, totale_preventivo FROM public.preventivo WHERE prospect_id = NEW.id LOOP
+    PERFORM public.preventivo_trend_apply(p.created_at, p.status, OLD.tipo_prospect, -1, p.totale_preventivo);
+    PERFORM public.preventivo_trend_apply(p.created_at, p.status, NEW.tipo_prospect, 1, p.totale_preventivo);
+  END LOOP;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Ricostruzione completa, da usare per riparare i rollup
+CREATE OR REPLACE FUNCTION public.rebuild_preventivo_trend()
+RETURNS void AS $$
+DECLARE
+  g text;
+BEGIN
+  LOCK TABLE public.preventivo, public.prospect IN SHARE MODE;
+
+  DELETE FROM public.preventivo_trend_rollup;
+  FOREACH g IN ARRAY ARRAY['week', 'month'] LOOP
+    INSERT INTO public.preventivo_trend_rollup
+      (granularity, bucket, status, tipo_prospect, preventivi_count, valore_totale)
+    SELECT g,
+           date_trunc(g, p.created_at AT TIME ZONE 'Europe/Rome')::date,
+           p.status,
+           COALESCE(pr.tipo_prospect, ''),
+           COUNT(*),
+           COALESCE(SUM(p.totale_preventivo), 0)
+      FROM public.preventivo p
+      LEFT JOIN public.prospect pr ON pr.id = p.prospect_id
+     GROUP BY 1, 2, 3, 4;
+  END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_preventivo_trend_ins_del
+  AFTER INSERT OR DELETE ON public.preventivo
+  FOR EACH ROW EXECUTE FUNCTION public.preventivo_trend_preventivo_trg();
+
+CREATE TRIGGER trg_preventivo_trend_upd
+  AFTER UPDATE OF status, totale_preventivo, prospect_id ON public.preventivo
+  FOR EACH ROW
+  WHEN (OLD.status IS DISTINCT FROM NEW.status
+        OR OLD.totale_preventivo IS DISTINCT FROM NEW.totale_preventivo
+        OR OLD.prospect_id IS DISTINCT FROM NEW.prospect_id)
+  EXECUTE FUNCTION public.preventivo_trend_preventivo_trg();
+
+CREATE TRIGGER trg_prospect_trend_upd
+  AFTER UPDATE OF tipo_prospect ON public.prospect
+  FOR EACH ROW
+  WHEN (OLD.tipo_prospect IS DISTINCT FROM NEW.tipo_prospect)
+  EXECUTE FUNCTION public.preventivo_trend_prospect_trg();
+
+SELECT public.rebuild_preventivo_trend();
@@ -0,0 +1,3 @@
+-- Indice per la paginazione keyset su (created_at, id)
+
+CREATE INDEX IF NOT EXISTS idx_prospect_created_at_id ON public.prospect(created_at DESC, id DESC);
@@ -1,10 +1,9 @@
 package it.prevt.backend;
 
+import it.prevt.backend.support.EmbeddedPostgresTest;
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
-class PrevtBackendApplicationTests {
+class PrevtBackendApplicationTests extends EmbeddedPostgresTest {
 
     @Test
     void contextLoads() {
@@ -0,0 +1,50 @@
+package it.prevt.backend.auth;
+
+import it.prevt.backend.support.EmbeddedPostgresTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Only health and info are reachable without a token; metrics and the Prometheus scrape are not.
+ */
+class ActuatorSecurityIntegrationTest extends EmbeddedPostgresTest {
+
+  private static final int UNAUTHORIZED = 401;
+
+  private static final int FORBIDDEN = 403;
+
+  @Autowired
+  private WebApplicationContext context;
+
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+  }
+
+  @Test
+  void healthAndInfoArePublic() throws Exception {
+    // health may answer 503 here (no mail server in tests): only the access decision matters
+    mockMvc.perform(get("/actuator/health")).andExpect(result ->
+        assertThat(result.getResponse().getStatus()).isNotIn(UNAUTHORIZED, FORBIDDEN));
+    mockMvc.perform(get("/actuator/info")).andExpect(status().isOk());
+  }
+
+  @Test
+  void metricsRequireAuthentication() throws Exception {
+    for (String path : new String[] {"/actuator/metrics", "/actuator/prometheus"}) {
+      mockMvc.perform(get(path)).andExpect(result ->
+          assertThat(result.getResponse().getStatus()).isIn(UNAUTHORIZED, FORBIDDEN));
+    }
+  }
+}
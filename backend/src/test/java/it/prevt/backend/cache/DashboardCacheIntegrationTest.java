@@ -0,0 +1,109 @@
+package it.prevt.backend.cache;
+
+import it.prevt.backend.event.DashboardNotificationListener;
+import it.prevt.backend.metrics.StatementCounter;
+import it.prevt.backend.service.rest.RestServicePath;
+import it.prevt.backend.support.EmbeddedPostgresTest;
+import it.prevt.backend.support.StatementCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Repeated dashboard loads are served from the cache without touching the database, until a write
+ * made directly on the database is notified.
+ */
+class DashboardCacheIntegrationTest extends EmbeddedPostgresTest {
+
+  private static final String URL = RestServicePath.DASHBOARD + "/loadDashboard";
+
+  private static final long TIMEOUT_MILLIS = 30_000;
+
+  @Autowired
+  private WebApplicationContext context;
+
+  @Autowired
+  private DashboardNotificationListener notificationListener;
+
+  @Autowired
+  private DashboardCache cache;
+
+  @Autowired
+  private StatementCounter statementCounter;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private MockMvc mockMvc;
+
+  private final RequestPostProcessor user = user(UUID.randomUUID().toString());
+
+  @BeforeEach
+  void setUp() throws InterruptedException {
+    mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+    long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    while (!notificationListener.isListening() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+    }
+    assertThat(notificationListener.isListening()).isTrue();
+  }
+
+  @Test
+  void repeatedLoadsAreServedFromTheCache() throws Exception {
+    // a notification left over from another test may bump the version meanwhile: try again then
+    for (int attempt = 0; attempt < 10; attempt++) {
+      long version = cache.currentVersion();
+      String etag = etag();
+      int[] repeated = new int[1];
+      long statements = StatementCount.using(statementCounter).count(() -> {
+        try {
+          repeated[0] = mockMvc.perform(get(URL).with(user).header(HttpHeaders.IF_NONE_MATCH, etag))
+              .andReturn().getResponse().getStatus();
+        } catch (Exception e) {
+          throw new IllegalStateException(e);
+        }
+      });
+      if (cache.currentVersion() == version) {
+        assertThat(repeated[0]).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(statements).isZero();
+        return;
+      }
+    }
+    throw new AssertionError("the dashboard version kept changing");
+  }
+
+  @Test
+  void directDatabaseWritesChangeTheEtag() throws Exception {
+    String etag = etag();
+
+    jdbcTemplate.update("UPDATE public.prospect SET tipo_prospect = tipo_prospect WHERE false");
+
+    long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    String current = etag();
+    while (current.equals(etag) && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+      current = etag();
+    }
+    assertThat(current).isNotEqualTo(etag);
+  }
+
+  private String etag() throws Exception {
+    return mockMvc.perform(get(URL).with(user)).andExpect(status().isOk()).andReturn().getResponse()
+        .getHeader(HttpHeaders.ETAG);
+  }
+}
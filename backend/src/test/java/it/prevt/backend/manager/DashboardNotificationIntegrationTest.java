@@ -0,0 +1,89 @@
+package it.prevt.backend.manager;
+
+import it.prevt.backend.event.DashboardChangedEvent;
+import it.prevt.backend.support.EmbeddedPostgresTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.event.ApplicationEventMulticaster;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A write made with plain JDBC, as the frontend does through Supabase, must reach the dashboard
+ * listeners through the database notification.
+ */
+class DashboardNotificationIntegrationTest extends EmbeddedPostgresTest {
+
+  private static final long TIMEOUT_SECONDS = 30;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private ApplicationEventMulticaster multicaster;
+
+  private final BlockingQueue<String> sources = new LinkedBlockingQueue<>();
+
+  private final ApplicationListener<PayloadApplicationEvent<DashboardChangedEvent>> listener =
+      event -> sources.add(event.getPayload().getSource());
+
+  @BeforeEach
+  void register() {
+    multicaster.addApplicationListener(listener);
+  }
+
+  @AfterEach
+  void unregister() {
+    multicaster.removeApplicationListener(listener);
+  }
+
+  @Test
+  void directDatabaseWritesArePublished() throws InterruptedException {
+    // the listener is connected once it announces itself; the test may start before or after that
+    String source = awaitProspectNotification();
+
+    assertThat(source).isEqualTo("prospect");
+  }
+
+  @Test
+  void listenerFailureDoesNotStopNotifications() throws InterruptedException {
+    AtomicBoolean failed = new AtomicBoolean();
+    ApplicationListener<PayloadApplicationEvent<DashboardChangedEvent>> failing = event -> {
+      if ("prospect".equals(event.getPayload().getSource()) && failed.compareAndSet(false, true)) {
+        throw new IllegalStateException("listener failure");
+      }
+    };
+    multicaster.addApplicationListener(failing);
+    try {
+      assertThat(awaitProspectNotification()).isEqualTo("prospect");
+      assertThat(failed).isTrue();
+      sources.clear();
+      // the listening thread reconnects after the failure and keeps publishing
+      assertThat(awaitProspectNotification()).isEqualTo("prospect");
+    } finally {
+      multicaster.removeApplicationListener(failing);
+    }
+  }
+
+  private String awaitProspectNotification() throws InterruptedException {
+    jdbcTemplate.update("UPDATE public.prospect SET tipo_prospect = tipo_prospect WHERE false");
+    String source;
+    do {
+      source = sources.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      if ("listen".equals(source)) {
+        jdbcTemplate.update("UPDATE public.prospect SET tipo_prospect = tipo_prospect WHERE false");
+      }
+    } while (source != null && !"prospect".equals(source));
+    return source;
+  }
+}
@@ -0,0 +1,63 @@
+package it.prevt.backend.manager;
+
+import it.prevt.backend.service.rest.RestServicePath;
+import it.prevt.backend.support.EmbeddedPostgresTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.UUID;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Grid margins the simulation cannot scale exactly are rejected as a bad request, not as a server
+ * error.
+ */
+class MarginSimulationIntegrationTest extends EmbeddedPostgresTest {
+
+  private static final String URL = RestServicePath.PREVENTIVI + "/simulate";
+
+  @Autowired
+  private WebApplicationContext context;
+
+  private MockMvc mockMvc;
+
+  private final RequestPostProcessor user = user(UUID.randomUUID().toString());
+
+  @BeforeEach
+  void setUp() {
+    mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+  }
+
+  @Test
+  void simulatesGridMarginsInRange() throws Exception {
+    simulate("[-100, 12.5, 30.25000, 1000]").andExpect(status().isOk());
+  }
+
+  @Test
+  void rejectsGridMarginsWithTooManyDigits() throws Exception {
+    simulate("[10, 12.34567]").andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void rejectsGridMarginsOutOfRange() throws Exception {
+    simulate("[1E30]").andExpect(status().isBadRequest());
+    simulate("[-100.0001]").andExpect(status().isBadRequest());
+    simulate("[1000.0001]").andExpect(status().isBadRequest());
+  }
+
+  private ResultActions simulate(String values) throws Exception {
+    String body = "{\"configuration\": {}, \"grid\": {\"STRUTTURA\": " + values + "}}";
+    return mockMvc.perform(post(URL).with(user).contentType(MediaType.APPLICATION_JSON).content(body));
+  }
+}
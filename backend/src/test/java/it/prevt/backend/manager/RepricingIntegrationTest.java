@@ -0,0 +1,174 @@
+package it.prevt.backend.manager;
+
+import it.prevt.backend.bean.PricingBean;
+import it.prevt.backend.bean.RepricingJobBean;
+import it.prevt.backend.entity.ParametroCostoUnitarioEntity;
+import it.prevt.backend.entity.Preventivo;
+import it.prevt.backend.entity.User;
+import it.prevt.backend.pricing.PriceCatalog;
+import it.prevt.backend.pricing.PriceCatalogSnapshot;
+import it.prevt.backend.pricing.PricingEngine;
+import it.prevt.backend.repository.UserRepository;
+import it.prevt.backend.request.bean.PricingRequestBean;
+import it.prevt.backend.support.EmbeddedPostgresTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the re-pricing job against committed data: the job works on its own thread and transactions.
+ * The small chunk size spreads the open quotes over several chunks.
+ */
+@TestPropertySource(properties = "app.repricing.chunk-size=50")
+class RepricingIntegrationTest extends EmbeddedPostgresTest {
+
+  private static final int OPEN_QUOTES = 120;
+
+  private static final long TIMEOUT_MILLIS = 30_000;
+
+  @Autowired
+  private RepricingManager repricingManager;
+
+  @Autowired
+  private PricingManager pricingManager;
+
+  @Autowired
+  private PriceCatalog priceCatalog;
+
+  @Autowired
+  private UserRepository repository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private User user;
+
+  private UUID parametroId;
+
+  @BeforeEach
+  void seed() throws InterruptedException {
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      user = new User();
+      user.setEmail("repricing-" + UUID.randomUUID() + "@prevt.test");
+      user.setPasswordHash("x");
+      user.setActive(true);
+      repository.save(user);
+
+      ParametroCostoUnitarioEntity stampa = new ParametroCostoUnitarioEntity();
+      stampa.setParametro(PriceCatalogSnapshot.COSTO_STAMPA_GRAFICA);
+      stampa.setUnitaMisura("mq");
+      stampa.setValore(BigDecimal.TEN);
+      stampa.setAttivo(true);
+      repository.save(stampa);
+      parametroId = stampa.getId();
+
+      List<Object> rows = new ArrayList<>();
+      for (int i = 0; i < OPEN_QUOTES; i++) {
+        rows.add(preventivo("REPRICE-" + i, i % 2 == 0 ? "bozza" : "inviato"));
+      }
+      rows.add(preventivo("REPRICE-CLOSED", "accettato"));
+      repository.saveAll(rows);
+    });
+    // the catalog insert above bumps the version: wait for the new snapshot and the run it starts
+    priceCatalog.refresh();
+    awaitIdle();
+  }
+
+  @AfterEach
+  void cleanUp() throws InterruptedException {
+    jdbcTemplate.update("DELETE FROM preventivo WHERE user_id = ?", user.getId());
+    jdbcTemplate.update("DELETE FROM parametri_a_costi_unitari WHERE id = ?", parametroId);
+    jdbcTemplate.update("DELETE FROM public.\"user\" WHERE id = ?", user.getId());
+  }
+
+  @Test
+  void repricesOpenQuotesOnly() throws InterruptedException {
+    jdbcTemplate.update("UPDATE preventivo SET totale_preventivo = 0, totale_costi = 0 WHERE user_id = ?",
+        user.getId());
+
+    repricingManager.startRepricing();
+    RepricingJobBean job = awaitIdle();
+
+    assertThat(job.getStatus()).isEqualTo(RepricingJobBean.STATUS_COMPLETED);
+    assertThat(job.getProcessedCount()).isGreaterThanOrEqualTo(OPEN_QUOTES);
+    assertThat(job.getUpdatedCount()).isGreaterThanOrEqualTo(OPEN_QUOTES);
+
+    PricingBean expected = pricingManager.price(configuration());
+    assertThat(expected.getTotalePreventivo()).isPositive();
+    List<BigDecimal> open = jdbcTemplate.queryForList(
+        "SELECT totale_preventivo FROM preventivo WHERE user_id = ? AND status <> 'accettato'",
+        BigDecimal.class, user.getId());
+    assertThat(open).hasSize(OPEN_QUOTES)
+        .allSatisfy(t -> assertThat(t).isEqualByComparingTo(expected.getTotalePreventivo()));
+    BigDecimal closed = jdbcTemplate.queryForObject(
+        "SELECT totale_preventivo FROM preventivo WHERE user_id = ? AND status = 'accettato'",
+        BigDecimal.class, user.getId());
+    assertThat(closed).isEqualByComparingTo(BigDecimal.ZERO);
+    assertThat(jdbcTemplate.queryForList(
+        "SELECT DISTINCT catalog_version FROM preventivo WHERE user_id = ? AND status <> 'accettato'",
+        Long.class, user.getId())).containsExactly(priceCatalog.current().getVersion());
+  }
+
+  @Test
+  void upToDateQuotesAreNotRewritten() throws InterruptedException {
+    repricingManager.startRepricing();
+    RepricingJobBean job = awaitIdle();
+
+    assertThat(job.getStatus()).isEqualTo(RepricingJobBean.STATUS_COMPLETED);
+    assertThat(job.getUpdatedCount()).isZero();
+  }
+
+  private Preventivo preventivo(String numero, String status) {
+    Preventivo preventivo = new Preventivo();
+    preventivo.setUser(user);
+    preventivo.setNumeroPreventivo(numero);
+    preventivo.setTitolo(numero);
+    preventivo.setStatus(status);
+    preventivo.setLarghezza(BigDecimal.valueOf(4));
+    preventivo.setProfondita(BigDecimal.valueOf(3));
+    preventivo.setAltezza(new BigDecimal("2.5"));
+    preventivo.setLayout(PricingEngine.LAYOUT_2_LATI);
+    preventivo.setDistribuzione(1);
+    return preventivo;
+  }
+
+  // same configuration as preventivo(), with the entity defaults the job reads back
+  private PricingRequestBean configuration() {
+    PricingRequestBean request = new PricingRequestBean();
+    request.setLarghezza(BigDecimal.valueOf(4));
+    request.setProfondita(BigDecimal.valueOf(3));
+    request.setAltezza(new BigDecimal("2.5"));
+    request.setLayout(PricingEngine.LAYOUT_2_LATI);
+    request.setDistribuzione(1);
+    request.setBifaccialita(BigDecimal.ZERO);
+    request.setAltStorage(new BigDecimal("2.5"));
+    request.setLayoutStorage("0");
+    return request;
+  }
+
+  private RepricingJobBean awaitIdle() throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+    RepricingJobBean job = repricingManager.getRepricingStatus();
+    while ((job.isPending() || RepricingJobBean.STATUS_RUNNING.equals(job.getStatus()))
+        && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+      job = repricingManager.getRepricingStatus();
+    }
+    return job;
+  }
+}
@@ -0,0 +1,152 @@
+package it.prevt.backend.manager;
+
+import it.prevt.backend.bean.ProspectBean;
+import it.prevt.backend.entity.Preventivo;
+import it.prevt.backend.entity.Prospect;
+import it.prevt.backend.entity.User;
+import it.prevt.backend.metrics.StatementCounter;
+import it.prevt.backend.repository.UserRepository;
+import it.prevt.backend.request.bean.LoginRequestBean;
+import it.prevt.backend.service.rest.RestServiceAuth;
+import it.prevt.backend.support.EmbeddedPostgresTest;
+import it.prevt.backend.support.StatementCount;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Upper bounds on the SQL statements of the main read and write paths, measured with a cold
+ * persistence context and second-level cache. A failing bound usually means a new N+1 load.
+ */
+@Transactional
+class StatementBudgetIntegrationTest extends EmbeddedPostgresTest {
+
+  private static final int ROWS = 30;
+
+  private static final String PASSWORD = "secret";
+
+  @Autowired
+  private DashboardManager dashboardManager;
+
+  @Autowired
+  private ProspectManager prospectManager;
+
+  @Autowired
+  private UserManager userManager;
+
+  @Autowired
+  private RestServiceAuth restServiceAuth;
+
+  @Autowired
+  private UserRepository repository;
+
+  @Autowired
+  private PasswordEncoder encoder;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private StatementCounter statementCounter;
+
+  private StatementCount statements;
+
+  private User user;
+
+  private Authentication authentication;
+
+  @BeforeEach
+  void seed() {
+    statements = StatementCount.using(statementCounter);
+
+    user = new User();
+    user.setEmail("budget-" + UUID.randomUUID() + "@prevt.test");
+    user.setPasswordHash(encoder.encode(PASSWORD));
+    user.setActive(true);
+    repository.save(user);
+
+    List<Object> rows = new ArrayList<>();
+    for (int i = 0; i < ROWS; i++) {
+      Prospect prospect = new Prospect();
+      prospect.setUser(user);
+      prospect.setRagioneSociale("Prospect " + i);
+      prospect.setPartitaIva(String.format("%011d", i));
+      rows.add(prospect);
+
+      Preventivo preventivo = new Preventivo();
+      preventivo.setUser(user);
+      preventivo.setProspect(prospect);
+      preventivo.setNumeroPreventivo("BUDGET-" + i);
+      preventivo.setTitolo("Preventivo " + i);
+      preventivo.setLarghezza(BigDecimal.ONE);
+      preventivo.setAltezza(BigDecimal.ONE);
+      preventivo.setTotalePreventivo(BigDecimal.valueOf(100L * i));
+      rows.add(preventivo);
+    }
+    repository.saveAll(rows);
+    coldCaches();
+
+    authentication = new UsernamePasswordAuthenticationToken(user.getId().toString(), null, List.of());
+  }
+
+  @Test
+  void loadDashboardRunsFixedStatements() {
+    // snapshot, totals per status, latest quotes with their prospect
+    assertThat(statements.atMost(3, dashboardManager::loadDashboard).getUltimiPreventivi())
+        .isNotEmpty();
+  }
+
+  @Test
+  void getProspectListRunsOneStatement() {
+    assertThat(statements.atMost(1, prospectManager::getProspectList)).hasSizeGreaterThanOrEqualTo(ROWS);
+  }
+
+  @Test
+  void saveProspectRunsFixedStatements() {
+    ProspectBean bean = new ProspectBean();
+    bean.setRagioneSociale("Nuovo prospect");
+    bean.setPartitaIva("99999999999");
+    bean.setTipo("prospect");
+    bean.setTipoProspect("Professional");
+
+    // owner lookup and insert
+    statements.atMost(2, () -> {
+      prospectManager.saveProspect(bean, authentication);
+      repository.flush();
+    });
+  }
+
+  @Test
+  void loginRunsOneStatement() {
+    LoginRequestBean request = new LoginRequestBean();
+    request.setEmail(user.getEmail());
+    request.setPassword(PASSWORD);
+
+    assertThat(statements.atMost(1, () -> restServiceAuth.login(request, new MockHttpServletResponse())))
+        .isNotNull();
+  }
+
+  @Test
+  void getProfileRunsOneStatement() {
+    assertThat(statements.atMost(1, () -> userManager.getProfile(authentication))).isNotNull();
+  }
+
+  private void coldCaches() {
+    repository.flush();
+    entityManager.clear();
+    entityManager.getEntityManagerFactory().getCache().evictAll();
+  }
+}
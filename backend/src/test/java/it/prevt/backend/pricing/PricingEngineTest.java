@@ -0,0 +1,180 @@
+package it.prevt.backend.pricing;
+
+import it.prevt.backend.bean.MarginScenarioBean;
+import it.prevt.backend.bean.MarginSimulationBean;
+import it.prevt.backend.bean.PricingBean;
+import it.prevt.backend.entity.CostoRetroilluminazioneEntity;
+import it.prevt.backend.entity.ParametroCostoUnitarioEntity;
+import it.prevt.backend.entity.ParametroEntity;
+import it.prevt.backend.request.bean.PricingRequestBean;
+import it.prevt.backend.utility.CalcUtility;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the engine against a stand priced by hand with the editor formulas.
+ */
+class PricingEngineTest {
+
+  private final PricingEngine engine = new PricingEngine(new CalcUtility());
+
+  @Test
+  void pricesTwoSidedStandWithDefaultMargins() {
+    PricingBean bean = engine.price(stand(), catalog());
+
+    // sviluppo 4 + 3, superficie 7 * 2.5 + 2.5, pezzi 7 * 2
+    assertThat(bean.getSviluppoLineare()).isEqualByComparingTo("7");
+    assertThat(bean.getSuperficieStampa()).isEqualByComparingTo("20");
+    assertThat(bean.getNumeroPezzi()).isEqualByComparingTo("14");
+    assertThat(bean.getCostoStruttura()).isEqualByComparingTo("700");
+    assertThat(bean.getCostoGrafica()).isEqualByComparingTo("200");
+    assertThat(bean.getCostoPremontaggio()).isEqualByComparingTo("14");
+    assertThat(bean.getCostoRetroilluminazione()).isEqualByComparingTo("40");
+    assertThat(bean.getTotaleCosti()).isEqualByComparingTo("954");
+    assertThat(bean.getTotalePreventivo()).isEqualByComparingTo("1431");
+    assertThat(bean.getMarginalitaMedia()).isEqualByComparingTo("50");
+  }
+
+  @Test
+  void emptyConfigurationPricesToZero() {
+    PricingBean bean = engine.price(new PricingRequestBean(), catalog());
+
+    assertThat(bean.getTotaleCosti()).isEqualByComparingTo("0");
+    assertThat(bean.getTotalePreventivo()).isEqualByComparingTo("0");
+    assertThat(bean.getMarginalitaMedia()).isEqualByComparingTo("0");
+  }
+
+  @Test
+  void premontaggioIsPricedOnlyWhenRequested() {
+    PricingRequestBean request = stand();
+    request.setPremontaggio(null);
+
+    PricingBean bean = engine.price(request, catalog());
+
+    // as in the editor, a missing flag counts as no premontaggio
+    assertThat(bean.getCostoPremontaggio()).isEqualByComparingTo("0");
+    assertThat(bean.getTotaleCosti()).isEqualByComparingTo("940");
+  }
+
+  @Test
+  void marginsRoundLikeTheDecimalFormulaOnTies() {
+    // {cost, margin}: 4-decimal inputs take the long path, finer ones the BigDecimal fallback
+    String[][] cases = {
+        {"0.0001", "50"}, {"0.0003", "50"}, {"100000", "12.3445"}, {"33.3333", "-12.5"},
+        {"100000", "12.34449"}, {"0.00005", "100"}, {"10.00495", "0"}, {"1234.5678", "-33.33335"}};
+    for (String[] c : cases) {
+      CostComponents components = new CostComponents();
+      BigDecimal[] margins = new BigDecimal[MarginItem.values().length];
+      for (MarginItem item : MarginItem.values()) {
+        components.setCost(item, new BigDecimal(c[0]));
+        margins[item.ordinal()] = new BigDecimal(c[1]);
+      }
+      components.setCostoAltriBeniServizi(new BigDecimal(c[0]));
+      components.setPreventivoAltriBeniServizi(new BigDecimal(c[0]));
+
+      PricingBean bean = engine.applyMargins(components, margins);
+
+      // reference: exact sums, categories rounded to 4 decimals for display, totals once to 2
+      BigDecimal price = new BigDecimal(c[0]).multiply(BigDecimal.ONE.add(new BigDecimal(c[1]).movePointLeft(2)));
+      int items = MarginItem.values().length;
+      long struttura = List.of(MarginItem.values()).stream()
+          .filter(i -> i.getCategory() == PriceCategory.STRUTTURA).count();
+      assertThat(bean.getPreventivoStruttura()).as("struttura %s", List.of(c))
+          .isEqualByComparingTo(price.multiply(BigDecimal.valueOf(struttura)).setScale(4, RoundingMode.HALF_UP));
+      assertThat(bean.getTotalePreventivo()).as("totale %s", List.of(c)).isEqualByComparingTo(
+          price.multiply(BigDecimal.valueOf(items)).add(new BigDecimal(c[0])).setScale(2, RoundingMode.HALF_UP));
+      assertThat(bean.getTotaleCosti()).as("costi %s", List.of(c)).isEqualByComparingTo(
+          new BigDecimal(c[0]).multiply(BigDecimal.valueOf(items + 1L)).setScale(2, RoundingMode.HALF_UP));
+    }
+  }
+
+  @Test
+  void simulationAtQuoteMarginsMatchesPricing() {
+    PricingRequestBean request = stand();
+    request.setMarginalitaStruttura(new BigDecimal("37.5"));
+
+    PricingBean priced = engine.price(request, catalog());
+    MarginSimulationBean simulation = engine.simulate(engine.computeCosts(request, catalog()),
+        MarginItem.marginsOf(request), Map.of());
+
+    assertThat(simulation.getScenarios()).hasSize(1);
+    assertThat(simulation.getTotaleCosti()).isEqualByComparingTo(priced.getTotaleCosti());
+    assertThat(simulation.getScenarios().get(0).getTotalePreventivo())
+        .isEqualByComparingTo(priced.getTotalePreventivo());
+    assertThat(simulation.getScenarios().get(0).getMarginalitaMedia())
+        .isEqualByComparingTo(priced.getMarginalitaMedia());
+  }
+
+  @Test
+  void simulationEvaluatesEveryGridCombination() {
+    PricingRequestBean request = stand();
+    CostComponents components = engine.computeCosts(request, catalog());
+
+    MarginSimulationBean simulation = engine.simulate(components, MarginItem.marginsOf(request),
+        Map.of(MarginItem.STRUTTURA, List.of(BigDecimal.ZERO, BigDecimal.valueOf(100)),
+            MarginItem.GRAFICA, List.of(BigDecimal.ZERO, BigDecimal.TEN, BigDecimal.valueOf(20))));
+
+    // struttura 700, grafica 200, premontaggio 14 and retroilluminazione 40 at 50%
+    assertThat(simulation.getScenarios()).extracting(MarginScenarioBean::getTotalePreventivo)
+        .usingElementComparator(BigDecimal::compareTo)
+        .containsExactly(new BigDecimal("981"), new BigDecimal("1001"), new BigDecimal("1021"),
+            new BigDecimal("1681"), new BigDecimal("1701"), new BigDecimal("1721"));
+    assertThat(simulation.getScenarios().get(5).getMargins().get(MarginItem.GRAFICA.ordinal()))
+        .isEqualByComparingTo("20");
+  }
+
+  @Test
+  void targetPriceGivesUniformMargin() {
+    CostComponents components = engine.computeCosts(stand(), catalog());
+
+    MarginSimulationBean simulation = engine.simulateTarget(components, BigDecimal.valueOf(1908));
+
+    assertThat(simulation.getScenarios()).singleElement().satisfies(scenario -> {
+      assertThat(scenario.getMargins()).allSatisfy(m -> assertThat(m).isEqualByComparingTo("100"));
+      assertThat(scenario.getTotalePreventivo()).isEqualByComparingTo("1908");
+    });
+  }
+
+  private static PricingRequestBean stand() {
+    PricingRequestBean request = new PricingRequestBean();
+    request.setLarghezza(BigDecimal.valueOf(4));
+    request.setProfondita(BigDecimal.valueOf(3));
+    request.setAltezza(new BigDecimal("2.50"));
+    request.setLayout(PricingEngine.LAYOUT_2_LATI);
+    request.setDistribuzione(1);
+    request.setRetroilluminazione(BigDecimal.valueOf(2));
+    request.setPremontaggio(true);
+    return request;
+  }
+
+  private static PriceCatalogSnapshot catalog() {
+    ParametroEntity altezza = new ParametroEntity();
+    altezza.setTipo(PriceCatalogSnapshot.PARAMETRO_COSTO_ALTEZZA);
+    altezza.setValoreChiave("2.5");
+    altezza.setValore(BigDecimal.valueOf(100));
+    ParametroEntity profilo = new ParametroEntity();
+    profilo.setTipo(PriceCatalogSnapshot.PARAMETRO_PROFILI_DISTRIBUZIONE);
+    profilo.setNome("1");
+    profilo.setValore(BigDecimal.valueOf(2));
+    CostoRetroilluminazioneEntity retro = new CostoRetroilluminazioneEntity();
+    retro.setAltezza(new BigDecimal("2.5"));
+    retro.setCostoAlMetro(BigDecimal.valueOf(20));
+    return new PriceCatalogSnapshot(1L, List.of(altezza, profilo),
+        List.of(costoUnitario(PriceCatalogSnapshot.COSTO_STAMPA_GRAFICA, 10),
+            costoUnitario(PriceCatalogSnapshot.COSTO_PREMONTAGGIO, 1)),
+        List.of(), List.of(), List.of(), List.of(), List.of(), List.of(retro));
+  }
+
+  private static ParametroCostoUnitarioEntity costoUnitario(String parametro, long valore) {
+    ParametroCostoUnitarioEntity entity = new ParametroCostoUnitarioEntity();
+    entity.setParametro(parametro);
+    entity.setValore(BigDecimal.valueOf(valore));
+    return entity;
+  }
+}
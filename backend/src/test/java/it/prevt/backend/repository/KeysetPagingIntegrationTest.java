@@ -0,0 +1,81 @@
+package it.prevt.backend.repository;
+
+import it.prevt.backend.bean.PageBean;
+import it.prevt.backend.bean.ProspectBean;
+import it.prevt.backend.entity.Prospect;
+import it.prevt.backend.entity.User;
+import it.prevt.backend.manager.ProspectManager;
+import it.prevt.backend.request.bean.ProspectRequestBean;
+import it.prevt.backend.support.EmbeddedPostgresTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Walks a prospect list with the keyset cursor: every row comes back exactly once, newest first,
+ * also across rows sharing the same createdAt.
+ */
+@Transactional
+class KeysetPagingIntegrationTest extends EmbeddedPostgresTest {
+
+  private static final int ROWS = 25;
+
+  private static final int PAGE_SIZE = 10;
+
+  @Autowired
+  private ProspectManager prospectManager;
+
+  @Autowired
+  private UserRepository repository;
+
+  private User user;
+
+  @BeforeEach
+  void seed() {
+    user = new User();
+    user.setEmail("keyset-" + UUID.randomUUID() + "@prevt.test");
+    user.setPasswordHash("-");
+    user.setActive(true);
+    repository.save(user);
+
+    List<Object> rows = new ArrayList<>();
+    for (int i = 0; i < ROWS; i++) {
+      Prospect prospect = new Prospect();
+      prospect.setUser(user);
+      prospect.setRagioneSociale("Keyset " + i);
+      prospect.setPartitaIva(String.format("%011d", i));
+      rows.add(prospect);
+    }
+    repository.saveAll(rows);
+    repository.flush();
+  }
+
+  @Test
+  void walksEveryRowOnceInOrder() {
+    List<ProspectBean> seen = new ArrayList<>();
+    String cursor = null;
+    do {
+      ProspectRequestBean request = new ProspectRequestBean();
+      request.setUserId(user.getId());
+      request.setKeyset(true);
+      request.setCursor(cursor);
+      request.setMaxResult(PAGE_SIZE);
+      PageBean<ProspectBean> page = prospectManager.getProspectPage(request);
+      assertThat(page.getItems()).hasSizeLessThanOrEqualTo(PAGE_SIZE);
+      seen.addAll(page.getItems());
+      cursor = page.getNextCursor();
+    } while (cursor != null);
+
+    assertThat(seen).extracting(ProspectBean::getId).doesNotHaveDuplicates().hasSize(ROWS);
+    // ties on createdAt are broken by the uuid order of PostgreSQL, which differs from UUID.compareTo
+    assertThat(seen).isSortedAccordingTo(Comparator.comparing(ProspectBean::getCreatedAt).reversed());
+  }
+}
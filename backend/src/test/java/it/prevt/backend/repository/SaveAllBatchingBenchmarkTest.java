@@ -0,0 +1,99 @@
+package it.prevt.backend.repository;
+
+import it.prevt.backend.entity.AltriBeniServiziEntity;
+import it.prevt.backend.entity.Preventivo;
+import it.prevt.backend.entity.User;
+import it.prevt.backend.support.EmbeddedPostgresTest;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares prepared statements for the same child rows written one by one without JDBC batching
+ * and through {@link AbstractRepository#saveAll}.
+ */
+@Slf4j
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class SaveAllBatchingBenchmarkTest extends EmbeddedPostgresTest {
+
+  private static final int ROWS = 200;
+
+  @Autowired
+  private UserRepository repository;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Test
+  void saveAllBatchesChildInserts() {
+    Preventivo preventivo = newPreventivo();
+    Statistics statistics =
+        entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    Session session = entityManager.unwrap(Session.class);
+
+    session.setJdbcBatchSize(1);
+    statistics.clear();
+    long start = System.nanoTime();
+    newRighe(preventivo).forEach(repository::save);
+    repository.flush();
+    long unbatchedMillis = (System.nanoTime() - start) / 1_000_000;
+    long unbatchedStatements = statistics.getPrepareStatementCount();
+
+    session.setJdbcBatchSize(null);
+    statistics.clear();
+    start = System.nanoTime();
+    repository.saveAll(newRighe(preventivo));
+    long batchedMillis = (System.nanoTime() - start) / 1_000_000;
+    long batchedStatements = statistics.getPrepareStatementCount();
+
+    log.info("altri_beni_servizi x{}: one by one {} statements / {} ms, saveAll {} statements / {} ms",
+        ROWS, unbatchedStatements, unbatchedMillis, batchedStatements, batchedMillis);
+
+    assertThat(unbatchedStatements).isGreaterThanOrEqualTo(ROWS);
+    assertThat(batchedStatements).isLessThanOrEqualTo(unbatchedStatements / 10);
+  }
+
+  private Preventivo newPreventivo() {
+    User user = new User();
+    user.setEmail("benchmark-" + UUID.randomUUID() + "@prevt.test");
+    user.setPasswordHash("x");
+    user.setActive(true);
+    repository.save(user);
+
+    Preventivo preventivo = new Preventivo();
+    preventivo.setUser(user);
+    preventivo.setNumeroPreventivo("BENCH-1");
+    preventivo.setTitolo("Benchmark saveAll");
+    preventivo.setLarghezza(BigDecimal.ONE);
+    preventivo.setAltezza(BigDecimal.ONE);
+    repository.save(preventivo);
+    repository.flush();
+    return preventivo;
+  }
+
+  private List<AltriBeniServiziEntity> newRighe(Preventivo preventivo) {
+    List<AltriBeniServiziEntity> righe = new ArrayList<>();
+    for (int i = 0; i < ROWS; i++) {
+      AltriBeniServiziEntity riga = new AltriBeniServiziEntity();
+      riga.setPreventivo(preventivo);
+      riga.setDescrizione("Voce " + i);
+      riga.setQuantita(BigDecimal.ONE);
+      righe.add(riga);
+    }
+    return righe;
+  }
+}
@@ -0,0 +1,55 @@
+package it.prevt.backend.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Base class for integration tests against an in-process PostgreSQL, migrated by Flyway at startup.
+ * The server is started once per JVM; where it cannot start (e.g. initdb refuses to run as root)
+ * the tests are skipped instead of failing.
+ */
+@SpringBootTest(properties = {"frontend-url=http://localhost", "spring.mail.password=test"})
+public abstract class EmbeddedPostgresTest {
+
+  private static EmbeddedPostgres postgres;
+
+  private static IOException startFailure;
+
+  @BeforeAll
+  static void startPostgres() {
+    start();
+    assumeTrue(postgres != null, () -> "embedded PostgreSQL not available: " + startFailure);
+  }
+
+  @DynamicPropertySource
+  static void datasource(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", () -> start().getJdbcUrl("postgres", "postgres"));
+    registry.add("spring.datasource.username", () -> "postgres");
+    registry.add("spring.datasource.password", () -> "postgres");
+  }
+
+  private static synchronized EmbeddedPostgres start() {
+    if (postgres == null && startFailure == null) {
+      try {
+        postgres = EmbeddedPostgres.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+          try {
+            postgres.close();
+          } catch (IOException e) {
+            // JVM is exiting
+          }
+        }));
+      } catch (IOException e) {
+        startFailure = e;
+      }
+    }
+    return postgres;
+  }
+}
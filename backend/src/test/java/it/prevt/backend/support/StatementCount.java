@@ -0,0 +1,48 @@
+package it.prevt.backend.support;
+
+import it.prevt.backend.metrics.StatementCounter;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the SQL statements Hibernate runs on the current thread inside a block, through the
+ * {@link StatementCounter} statement inspector registered by the application.
+ */
+public final class StatementCount {
+
+  private final StatementCounter counter;
+
+  private StatementCount(StatementCounter counter) {
+    this.counter = counter;
+  }
+
+  public static StatementCount using(StatementCounter counter) {
+    return new StatementCount(counter);
+  }
+
+  public long count(Runnable block) {
+    long before = counter.current();
+    block.run();
+    return counter.current() - before;
+  }
+
+  /**
+   * Runs the block and fails when it executes more than {@code max} statements.
+   */
+  public <T> T atMost(long max, Supplier<T> block) {
+    long before = counter.current();
+    T result = block.get();
+    long executed = counter.current() - before;
+    assertThat(executed).as("SQL statements executed").isLessThanOrEqualTo(max);
+    return result;
+  }
+
+  public void atMost(long max, Runnable block) {
+    atMost(max, () -> {
+      block.run();
+      return null;
+    });
+  }
+}
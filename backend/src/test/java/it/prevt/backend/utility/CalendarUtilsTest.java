@@ -0,0 +1,92 @@
+package it.prevt.backend.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the arithmetic leap-day count against the day-by-day walk it replaces.
+ */
+class CalendarUtilsTest {
+
+  private final CalcUtility calcUtility = new CalcUtility();
+
+  private final Random random = new Random(42);
+
+  @Test
+  void matchesDayByDayWalk() {
+    LocalDate origin = LocalDate.of(1890, 1, 1);
+    for (int i = 0; i < 20_000; i++) {
+      LocalDate fromDate = origin.plusDays(random.nextInt(80_000));
+      LocalDate toDate = fromDate.plusDays(random.nextInt(3_000) - 1_000);
+
+      assertThat(CalendarUtils.daysInYear(fromDate, toDate)).isEqualTo(walkDaysInYear(fromDate, toDate));
+      assertThat(calcUtility.daysFraction(fromDate, toDate)).isEqualTo(walkDaysFraction(fromDate, toDate));
+    }
+  }
+
+  @Test
+  void countsLeapDaysAtTheBoundaries() {
+    LocalDate leapDay = LocalDate.of(2024, 2, 29);
+    assertThat(CalendarUtils.leapDaysBetween(leapDay, leapDay)).isZero();
+    assertThat(CalendarUtils.leapDaysBetween(leapDay, leapDay.plusDays(1))).isEqualTo(1);
+    assertThat(CalendarUtils.leapDaysBetween(leapDay.minusDays(1), leapDay)).isZero();
+    assertThat(CalendarUtils.leapDaysBetween(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 2, 28))).isEqualTo(1);
+    // 1900 and 2100 are not leap, 2000 is
+    assertThat(CalendarUtils.leapDaysBetween(LocalDate.of(1896, 1, 1), LocalDate.of(2104, 1, 1))).isEqualTo(50);
+  }
+
+  @Test
+  void computesScheduleInOnePass() {
+    List<DateRange> schedule = new ArrayList<>();
+    LocalDate date = LocalDate.of(2023, 1, 31);
+    for (int i = 0; i < 60; i++) {
+      schedule.add(new DateRange(date, date.plusMonths(1)));
+      date = date.plusMonths(1);
+    }
+    // a gap and a reversed range break the chain
+    schedule.add(new DateRange(date.plusDays(10), date));
+    BigDecimal interestPercentage = new BigDecimal("3.75");
+
+    List<BigDecimal> fractions = CalendarUtils.daysFractions(schedule);
+    List<BigDecimal> interests = CalendarUtils.interests(interestPercentage, schedule);
+
+    assertThat(fractions).hasSize(schedule.size());
+    for (int i = 0; i < schedule.size(); i++) {
+      DateRange range = schedule.get(i);
+      assertThat(fractions.get(i)).isEqualTo(calcUtility.daysFraction(range.fromDate(), range.toDate()));
+      assertThat(interests.get(i)).isEqualTo(
+          calcUtility.interestBasedOnDates(interestPercentage, range.fromDate(), range.toDate()));
+    }
+    assertThat(CalendarUtils.daysFractions(null)).isEmpty();
+  }
+
+  private static BigDecimal walkDaysInYear(LocalDate fromDate, LocalDate toDate) {
+    if (fromDate.getYear() == toDate.getYear() && Year.of(fromDate.getYear()).isLeap()) {
+      return BigDecimal.valueOf(366);
+    }
+    LocalDate start = fromDate.isBefore(toDate) ? fromDate : toDate;
+    LocalDate end = fromDate.isBefore(toDate) ? toDate : fromDate;
+    for (LocalDate date = start; date.isBefore(end); date = date.plusDays(1)) {
+      if (date.getMonth() == Month.FEBRUARY && date.getDayOfMonth() == 29) {
+        return BigDecimal.valueOf(366);
+      }
+    }
+    return BigDecimal.valueOf(365);
+  }
+
+  private static BigDecimal walkDaysFraction(LocalDate fromDate, LocalDate toDate) {
+    return BigDecimal.valueOf(ChronoUnit.DAYS.between(fromDate, toDate))
+        .divide(walkDaysInYear(fromDate, toDate), CalcUtility.DIVISION_PRECISION, RoundingMode.HALF_UP);
+  }
+}
@@ -0,0 +1,71 @@
+package it.prevt.backend.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks the fixed-point operations against the CalcUtility BigDecimal path they replace.
+ */
+class MoneyTest {
+
+  private final CalcUtility calcUtility = new CalcUtility();
+
+  private final Random random = new Random(42);
+
+  @Test
+  void roundsLikeCalcUtility() {
+    for (int i = 0; i < 10_000; i++) {
+      BigDecimal cost = randomAmount();
+      BigDecimal margin = BigDecimal.valueOf(random.nextInt(20_000) - 5_000, 2);
+      BigDecimal quantity = BigDecimal.valueOf(random.nextInt(100_000), 3);
+      Money money = Money.of(cost);
+
+      assertThat(money.toBigDecimal()).isEqualTo(calcUtility.roundNdecimal(cost, CalcUtility.CURRENCY_PRECISION));
+      assertThat(money.multiply(Rate.of(margin)).toBigDecimal()).isEqualByComparingTo(calcUtility.roundNdecimal(
+          calcUtility.multiply(money.toBigDecimal(), calcUtility.perc(margin)), CalcUtility.CURRENCY_PRECISION));
+      assertThat(money.multiply(Money.of(quantity)).toBigDecimal()).isEqualByComparingTo(
+          calcUtility.roundNdecimal(money.toBigDecimal().multiply(quantity), CalcUtility.CURRENCY_PRECISION));
+      assertThat(money.round2Decimal().toBigDecimal()).isEqualByComparingTo(calcUtility.round2Decimal(money.toBigDecimal()));
+      assertThat(money.divide(7).toBigDecimal()).isEqualByComparingTo(calcUtility.roundNdecimal(
+          calcUtility.divide(money.toBigDecimal(), BigDecimal.valueOf(7)), CalcUtility.CURRENCY_PRECISION));
+
+      Money total = Money.of(randomAmount());
+      Rate percentage = money.percentageOf(total);
+      if (total.isZero()) {
+        assertThat(percentage).isNull();
+      } else {
+        assertThat(percentage.toBigDecimal()).isEqualByComparingTo(calcUtility.roundNdecimal(
+            calcUtility.calculatePercentage(money.toBigDecimal(), total.toBigDecimal()), Rate.SCALE));
+      }
+    }
+  }
+
+  @Test
+  void roundsHalfUpAwayFromZero() {
+    assertThat(Money.of(new BigDecimal("0.00005")).unscaled()).isEqualTo(1);
+    assertThat(Money.of(new BigDecimal("-0.00005")).unscaled()).isEqualTo(-1);
+    assertThat(Money.ofUnscaled(125).round2Decimal()).isEqualTo(Money.ofUnscaled(100));
+    assertThat(Money.ofUnscaled(-150).round2Decimal()).isEqualTo(Money.ofUnscaled(-200));
+    assertThat(Money.ofScaled(-5, 5)).isEqualTo(Money.ofUnscaled(-1));
+    assertThat(Rate.of(new BigDecimal("30")).remainder().toBigDecimal()).isEqualByComparingTo("70");
+  }
+
+  @Test
+  void failsOnOverflowInsteadOfWrapping() {
+    Money max = Money.ofUnscaled(Long.MAX_VALUE);
+    assertThatThrownBy(() -> max.plus(Money.ofUnscaled(1))).isInstanceOf(ArithmeticException.class);
+    assertThatThrownBy(() -> max.multiply(2)).isInstanceOf(ArithmeticException.class);
+    assertThatThrownBy(() -> Money.of(new BigDecimal("1e20"))).isInstanceOf(ArithmeticException.class);
+    // the intermediate product overflows, the result does not
+    assertThat(max.multiply(Rate.of(new BigDecimal("50")))).isEqualTo(Money.ofUnscaled(Long.MAX_VALUE / 2 + 1));
+  }
+
+  private BigDecimal randomAmount() {
+    return BigDecimal.valueOf(random.nextLong(2_000_000_000_000L) - 1_000_000_000_000L, 6);
+  }
+}